@@ -0,0 +1,140 @@
+#!/usr/bin/env bash
+# Side-by-side load test of the product API across serving modes:
+#   mvc      Spring MVC on Tomcat, platform-thread pool (default)
+#   reactive WebFlux on Netty with the reactive MongoDB driver (Spring profile "reactive")
+#   virtual  Spring MVC on Tomcat with virtual threads (Spring profile "virtual"; needs Java 21 on PATH)
+# Starts each mode from one jar against the same MongoDB, seeds products through the MVC instance, then runs the same
+# scenarios against each at rising concurrency. Prints requests/sec, p99 latency and the most requests the server had
+# in flight at once (sampled from the http.server.requests.active metric).
+# Requires MongoDB on 27017 (docker compose up -d), a keystore (./scripts/gen-keystore.sh), curl and hey
+# (https://github.com/rakyll/hey). Run from project root: ./scripts/load-test.sh
+#
+# Tunables (env): MODES (default "mvc reactive", plus "virtual" on Java 21+), DURATION (per run, default 30s),
+# CONCURRENCY (default "64 256 1024"), PRODUCTS (default 5000), ADMIN_EMAIL / ADMIN_PASSWORD (for the metric),
+# MVC_PORT (8443), REACTIVE_PORT (9443), VIRTUAL_PORT (10443).
+
+set -e
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+ROOT_DIR="$(cd "$SCRIPT_DIR/.." && pwd)"
+JAVA_MAJOR="$(java -version 2>&1 | sed -n 's/.*version "\([0-9]*\).*/\1/p' | head -1)"
+DEFAULT_MODES="mvc reactive"
+[ "${JAVA_MAJOR:-0}" -ge 21 ] && DEFAULT_MODES="mvc reactive virtual"
+MODES="${MODES:-$DEFAULT_MODES}"
+DURATION="${DURATION:-30s}"
+CONCURRENCY="${CONCURRENCY:-64 256 1024}"
+PRODUCTS="${PRODUCTS:-5000}"
+ADMIN_EMAIL="${ADMIN_EMAIL:-admin@letsplay.local}"
+ADMIN_PASSWORD="${ADMIN_PASSWORD:-admin123}"
+MVC_PORT="${MVC_PORT:-8443}"
+REACTIVE_PORT="${REACTIVE_PORT:-9443}"
+VIRTUAL_PORT="${VIRTUAL_PORT:-10443}"
+LOG_DIR="$ROOT_DIR/target/load-test"
+
+cd "$ROOT_DIR"
+for tool in curl hey; do
+  command -v "$tool" >/dev/null 2>&1 || { echo "$tool not found on PATH."; exit 1; }
+done
+if [[ " $MODES " == *" virtual "* ]] && [ "${JAVA_MAJOR:-0}" -lt 21 ]; then
+  echo "Mode 'virtual' needs Java 21+ (found $JAVA_MAJOR)."; exit 1
+fi
+
+echo "==> Building jar..."
+./mvnw -q -DskipTests package
+JAR="$(ls target/lets-play-*.jar | grep -v original | head -1)"
+mkdir -p "$LOG_DIR"
+
+PIDS=()
+trap 'kill "${PIDS[@]}" 2>/dev/null || true' EXIT
+
+port_of() {
+  case "$1" in
+    reactive) echo "$REACTIVE_PORT" ;;
+    virtual) echo "$VIRTUAL_PORT" ;;
+    *) echo "$MVC_PORT" ;;
+  esac
+}
+
+start() { # mode
+  local port args
+  port="$(port_of "$1")"
+  # Rate limiting would turn most of the load into 429s (and the reactive mode has none)
+  args=(--server.port="$port" --rate-limit.enabled=false)
+  [ "$1" != mvc ] && args+=(--spring.profiles.active="$1")
+  java -jar "$JAR" "${args[@]}" >"$LOG_DIR/$1.log" 2>&1 &
+  PIDS+=($!)
+  for i in $(seq 1 60); do
+    if curl -ksf "https://localhost:$port/actuator/health" >/dev/null; then echo "==> $1 ready on $port."; return; fi
+    sleep 1
+  done
+  echo "$1 did not start; see $LOG_DIR/$1.log"; exit 1
+}
+
+token() { # email password
+  curl -ks "https://localhost:$MVC_PORT/api/auth/signin" -H 'Content-Type: application/json' \
+    -d "{\"email\":\"$1\",\"password\":\"$2\"}" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p'
+}
+
+# Samples in-flight requests on one instance until the file $2 disappears; prints the maximum seen.
+max_in_flight() { # port stop-file
+  local max=0 active
+  while [ -f "$2" ]; do
+    active="$(curl -ks "https://localhost:$1/actuator/metrics/http.server.requests.active" \
+      -H "Authorization: Bearer $ADMIN_TOKEN" \
+      | sed -n 's/.*"statistic":"ACTIVE_TASKS","value":\([0-9.]*\).*/\1/p')"
+    active="${active%.*}"
+    [ -n "$active" ] && [ "$active" -gt "$max" ] && max="$active"
+    sleep 0.2
+  done
+  echo "$max"
+}
+
+echo "==> Starting $MODES..."
+# The MVC instance issues tokens and seeds data, so it always runs
+[[ " $MODES " == *" mvc "* ]] || start mvc
+for mode in $MODES; do start "$mode"; done
+
+echo "==> Signing up a load-test seller and importing $PRODUCTS products..."
+EMAIL="load-$(date +%s)@letsplay.local"
+TOKEN="$(curl -ks "https://localhost:$MVC_PORT/api/auth/signup" -H 'Content-Type: application/json' \
+  -d "{\"name\":\"Load Test\",\"email\":\"$EMAIL\",\"password\":\"load-test\"}" \
+  | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')"
+[ -n "$TOKEN" ] || { echo "Signup failed."; exit 1; }
+ADMIN_TOKEN="$(token "$ADMIN_EMAIL" "$ADMIN_PASSWORD")"
+[ -n "$ADMIN_TOKEN" ] || echo "Admin signin failed; max in-flight will read 0."
+seq 1 "$PRODUCTS" | awk '{printf "{\"name\":\"Load %d\",\"description\":\"Load test product %d\",\"price\":%d.99,\"quantity\":%d}\n", $1, $1, $1 % 100, $1 % 500}' \
+  | curl -ks "https://localhost:$MVC_PORT/api/products:import" -H "Authorization: Bearer $TOKEN" \
+      -H 'Content-Type: application/x-ndjson' --data-binary @- | tail -1
+PRODUCT_ID="$(curl -ks "https://localhost:$MVC_PORT/api/products?size=1&includeTotal=false" \
+  | sed -n 's/.*"id":"\([0-9a-f]\{24\}\)".*/\1/p')"
+
+# name|path[|auth]
+SCENARIOS=(
+  "list|/api/products?size=20&includeTotal=false"
+  "list-total|/api/products?size=20"
+  "by-id|/api/products/$PRODUCT_ID"
+  "authenticated-list|/api/products?size=20&includeTotal=false|auth"
+)
+
+printf "\n%-20s %-9s %6s %12s %10s %10s\n" scenario mode conc "req/s" "p99 (ms)" "in-flight"
+for scenario in "${SCENARIOS[@]}"; do
+  IFS='|' read -r name path auth <<<"$scenario"
+  headers=()
+  [ "$auth" = auth ] && headers=(-H "Authorization: Bearer $TOKEN")
+  for conc in $CONCURRENCY; do
+    for mode in $MODES; do
+      port="$(port_of "$mode")"
+      sampling="$LOG_DIR/.sampling"
+      touch "$sampling"
+      max_in_flight "$port" "$sampling" >"$LOG_DIR/.in-flight" &
+      sampler=$!
+      out="$(hey -z "$DURATION" -c "$conc" "${headers[@]}" "https://localhost:$port$path")"
+      rm -f "$sampling"
+      wait "$sampler"
+      rps="$(echo "$out" | awk '/Requests\/sec/ {print $2}')"
+      p99="$(echo "$out" | awk '/ 99% in / {printf "%.1f", $3 * 1000}')"
+      printf "%-20s %-9s %6s %12s %10s %10s\n" "$name" "$mode" "$conc" "$rps" "$p99" "$(cat "$LOG_DIR/.in-flight")"
+      echo "$out" >"$LOG_DIR/$name-$mode-$conc.txt"
+    done
+  done
+done
+echo "==> Full hey reports in $LOG_DIR. Pinned virtual threads, if any, are logged in $LOG_DIR/virtual.log."
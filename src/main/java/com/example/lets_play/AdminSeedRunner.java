@@ -7,11 +7,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.dao.DuplicateKeyException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import com.example.lets_play.model.User;
 import com.example.lets_play.repository.UserRepository;
+import com.example.lets_play.service.PasswordHashingService;
+import com.example.lets_play.service.TokenVersionTable;
+import com.example.lets_play.service.UserDirectory;
 
 /**
  * Seeds a default ADMIN user on application startup if one does not already exist.
@@ -22,7 +24,8 @@ import com.example.lets_play.repository.UserRepository;
  * <ul>
  *   <li>{@code admin.seed.email} – email for the default admin (required)</li>
  *   <li>{@code admin.seed.name} – display name</li>
- *   <li>{@code admin.seed.password} – plain password; stored hashed. Change after first login in non-dev.</li>
+ *   <li>{@code admin.seed.password} – plain password; stored hashed with the same calibrated encoder as user passwords.
+ *       Change after first login in non-dev.</li>
  * </ul>
  */
 @Component
@@ -34,7 +37,13 @@ public class AdminSeedRunner implements ApplicationRunner {
     private UserRepository userRepository;
     
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashing;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private TokenVersionTable tokenVersions;
 
     @Value("${admin.seed.email}")
     private String adminEmail;
@@ -61,10 +70,12 @@ public class AdminSeedRunner implements ApplicationRunner {
         admin.setEmail(adminEmail);
         admin.setName(adminName);
         admin.setRole(User.Role.ADMIN);
-        admin.setPassword(passwordEncoder.encode(adminPassword));
+        admin.setPassword(passwordHashing.encode(adminPassword));
 
         try {
-            userRepository.save(admin);
+            admin = userRepository.save(admin);
+            userDirectory.put(admin);
+            tokenVersions.put(admin);
             log.info("Default admin created (email: {});", adminEmail);
         } catch (DuplicateKeyException e) {
             log.error("Failed to create default admin (email: {}): {}", adminEmail, e.getMessage());
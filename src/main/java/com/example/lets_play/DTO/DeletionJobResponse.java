@@ -0,0 +1,107 @@
+package com.example.lets_play.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Progress of a user's cascade delete, returned by GET /api/admin/deletion-jobs. {@code remainingProducts} is only
+ * present while the job is pending.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeletionJobResponse {
+
+    private String userId;
+    private String email;
+    private String status;
+    private long deletedProducts;
+    private Long remainingProducts;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+
+    public DeletionJobResponse() {}
+
+    public DeletionJobResponse(
+            String userId,
+            String email,
+            String status,
+            long deletedProducts,
+            Long remainingProducts,
+            Instant createdAt,
+            Instant updatedAt,
+            Instant completedAt) {
+        this.userId = userId;
+        this.email = email;
+        this.status = status;
+        this.deletedProducts = deletedProducts;
+        this.remainingProducts = remainingProducts;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getDeletedProducts() {
+        return deletedProducts;
+    }
+
+    public void setDeletedProducts(long deletedProducts) {
+        this.deletedProducts = deletedProducts;
+    }
+
+    public Long getRemainingProducts() {
+        return remainingProducts;
+    }
+
+    public void setRemainingProducts(Long remainingProducts) {
+        this.remainingProducts = remainingProducts;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
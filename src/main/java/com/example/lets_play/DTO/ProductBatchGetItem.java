@@ -0,0 +1,47 @@
+package com.example.lets_play.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One entry of a batch get: the requested id, whether it was found, and the product if so. Malformed ids are reported
+ * as not found, as GET /api/products/{id} does.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductBatchGetItem {
+
+    private String id;
+    private boolean found;
+    private ProductResponse product;
+
+    public ProductBatchGetItem() {}
+
+    public ProductBatchGetItem(String id, boolean found, ProductResponse product) {
+        this.id = id;
+        this.found = found;
+        this.product = product;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public ProductResponse getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductResponse product) {
+        this.product = product;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.lets_play.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request body for POST /api/products:batchGet: 1–100 product ids. Repeated ids are answered once.
+ */
+public class ProductBatchGetRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = 100, message = "At most 100 ids per request")
+    private List<String> ids;
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
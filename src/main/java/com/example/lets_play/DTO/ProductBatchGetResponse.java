@@ -0,0 +1,45 @@
+package com.example.lets_play.dto;
+
+import java.util.List;
+
+/**
+ * Response of a batch get: one item per distinct requested id, in the order the ids were first requested.
+ */
+public class ProductBatchGetResponse {
+
+    private List<ProductBatchGetItem> items;
+    private int found;
+    private int notFound;
+
+    public ProductBatchGetResponse() {}
+
+    public ProductBatchGetResponse(List<ProductBatchGetItem> items, int found, int notFound) {
+        this.items = items;
+        this.found = found;
+        this.notFound = notFound;
+    }
+
+    public List<ProductBatchGetItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ProductBatchGetItem> items) {
+        this.items = items;
+    }
+
+    public int getFound() {
+        return found;
+    }
+
+    public void setFound(int found) {
+        this.found = found;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(int notFound) {
+        this.notFound = notFound;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.lets_play.dto;
+
+/**
+ * One operation of POST /api/products:bulk.
+ * <ul>
+ *   <li>{@code create}: {@code product} with the fields and rules of {@link ProductCreateRequest}.</li>
+ *   <li>{@code update}: {@code id} and {@code product} with the fields and rules of {@link ProductUpdateRequest}.</li>
+ *   <li>{@code delete}: {@code id}.</li>
+ * </ul>
+ * {@code version} (optional, update/delete) makes the operation conditional, like {@code If-Match}.
+ * Items are validated one by one in the service so that an invalid item fails alone.
+ */
+public class ProductBulkOperation {
+
+    private String op;
+    private String id;
+    private Long version;
+    private ProductUpdateRequest product;
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public ProductUpdateRequest getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductUpdateRequest product) {
+        this.product = product;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.lets_play.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request body for POST /api/products:bulk: 1–500 create/update/delete operations, executed unordered.
+ */
+public class ProductBulkRequest {
+
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 500, message = "At most 500 operations per request")
+    private List<ProductBulkOperation> operations;
+
+    public List<ProductBulkOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<ProductBulkOperation> operations) {
+        this.operations = operations;
+    }
+}
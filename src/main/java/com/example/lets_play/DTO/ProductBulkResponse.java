@@ -0,0 +1,45 @@
+package com.example.lets_play.dto;
+
+import java.util.List;
+
+/**
+ * Response of POST /api/products:bulk: one result per operation, in request order, plus totals.
+ */
+public class ProductBulkResponse {
+
+    private List<ProductBulkResult> results;
+    private int succeeded;
+    private int failed;
+
+    public ProductBulkResponse() {}
+
+    public ProductBulkResponse(List<ProductBulkResult> results, int succeeded, int failed) {
+        this.results = results;
+        this.succeeded = succeeded;
+        this.failed = failed;
+    }
+
+    public List<ProductBulkResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<ProductBulkResult> results) {
+        this.results = results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+}
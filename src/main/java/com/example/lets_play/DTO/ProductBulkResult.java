@@ -0,0 +1,77 @@
+package com.example.lets_play.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one bulk operation. {@code status} uses the HTTP status the single-item endpoint would have returned
+ * (201, 200, 204, 400, 403, 404, 409, 412); {@code message} is set for failures.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductBulkResult {
+
+    private int index;
+    private String op;
+    private int status;
+    private String id;
+    private Long version;
+    private String message;
+
+    public ProductBulkResult() {}
+
+    public ProductBulkResult(int index, String op, int status, String id, Long version, String message) {
+        this.index = index;
+        this.op = op;
+        this.status = status;
+        this.id = id;
+        this.version = version;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.lets_play.dto;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The properties of {@link ProductResponse} a client can select with {@code fields=}, each with the {@code products}
+ * document field it is read from. Declared in the order the properties are serialized (alphabetical).
+ */
+public enum ProductField {
+
+    DESCRIPTION("description", "description"),
+    ID("id", "_id"),
+    NAME("name", "name"),
+    PRICE("price", "price"),
+    QUANTITY("quantity", "quantity"),
+    USER_ID("userId", "userId");
+
+    /** Every field: the full representation. */
+    public static final Set<ProductField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ProductField.class));
+
+    private final String property;
+    private final String documentField;
+
+    ProductField(String property, String documentField) {
+        this.property = property;
+        this.documentField = documentField;
+    }
+
+    /** JSON property name. */
+    public String getProperty() {
+        return property;
+    }
+
+    /** Field name in the {@code products} collection. */
+    public String getDocumentField() {
+        return documentField;
+    }
+
+    /** The field with the given JSON property name (case-sensitive), or null if there is none. */
+    public static ProductField fromProperty(String property) {
+        for (ProductField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /** One bit per field (by ordinal): a compact key for a field set, e.g. in ETags. */
+    public static int mask(Set<ProductField> fields) {
+        int mask = 0;
+        for (ProductField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.lets_play.dto;
+
+/**
+ * Error line of POST /api/products:import: a row that was rejected (malformed, invalid, or refused by the database).
+ * {@code line} is the 1-based data line number (the CSV header is not counted).
+ */
+public class ProductImportError {
+
+    private String event = "error";
+    private long line;
+    private String message;
+
+    public ProductImportError() {}
+
+    public ProductImportError(long line, String message) {
+        this.line = line;
+        this.message = message;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public void setEvent(String event) {
+        this.event = event;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
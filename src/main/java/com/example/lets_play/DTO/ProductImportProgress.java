@@ -0,0 +1,81 @@
+package com.example.lets_play.dto;
+
+/**
+ * Progress line of POST /api/products:import ({@code event} is {@code progress} after each inserted batch and
+ * {@code done} at the end). {@code committedLine} is the line number up to which every row has been stored or
+ * reported as an error; resume an interrupted import with {@code importId} and {@code offset=committedLine}.
+ */
+public class ProductImportProgress {
+
+    private String event;
+    private String importId;
+    private long linesRead;
+    private long inserted;
+    private long failed;
+    private long committedLine;
+
+    public ProductImportProgress() {}
+
+    public ProductImportProgress(
+            String event,
+            String importId,
+            long linesRead,
+            long inserted,
+            long failed,
+            long committedLine) {
+        this.event = event;
+        this.importId = importId;
+        this.linesRead = linesRead;
+        this.inserted = inserted;
+        this.failed = failed;
+        this.committedLine = committedLine;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public void setEvent(String event) {
+        this.event = event;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public void setImportId(String importId) {
+        this.importId = importId;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getCommittedLine() {
+        return committedLine;
+    }
+
+    public void setCommittedLine(long committedLine) {
+        this.committedLine = committedLine;
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.lets_play.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Product data returned by API (list, get, create, update). Includes owner {@code userId}.
+ * The document version is not serialized; it is exposed as the {@code ETag} header.
  */
 public class ProductResponse {
 
@@ -11,6 +14,8 @@ public class ProductResponse {
     private double price;
     private int quantity;
     private String userId;
+    @JsonIgnore
+    private long version;
 
     public ProductResponse() {}
 
@@ -70,4 +75,12 @@ public class ProductResponse {
     public void setUserId(String userId) {
         this.userId = userId;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -2,16 +2,26 @@ package com.example.lets_play.dto;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Paginated response for GET /api/products. Standard page fields: content, totalElements, totalPages, size, number.
+ * In cursor mode ({@code after} / {@code cursor} query params) totals are omitted and {@code nextCursor} is set while
+ * more results follow; with {@code includeTotal=false} totals are omitted and {@code hasNext} is set. Null fields are
+ * left out of the JSON so default page-mode responses keep their original shape.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ProductsResponse {
 
     private List<ProductResponse> content;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private int size;
     private int number;
+    /** Opaque token for the next page in cursor mode; null on the last page and in page mode. */
+    private String nextCursor;
+    /** Set when totals are not requested ({@code includeTotal=false}): whether another page follows. */
+    private Boolean hasNext;
 
     public ProductsResponse() {}
 
@@ -23,6 +33,21 @@ public class ProductsResponse {
         this.number = number;
     }
 
+    /** Cursor-mode page: no totals, {@code nextCursor} null when this is the last page. */
+    public ProductsResponse(List<ProductResponse> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    /** Page without totals ({@code includeTotal=false}). */
+    public ProductsResponse(List<ProductResponse> content, int size, int number, boolean hasNext) {
+        this.content = content;
+        this.size = size;
+        this.number = number;
+        this.hasNext = hasNext;
+    }
+
     public List<ProductResponse> getContent() {
         return content;
     }
@@ -31,19 +56,19 @@ public class ProductsResponse {
         this.content = content;
     }
 
-    public long getTotalElements() {
+    public Long getTotalElements() {
         return totalElements;
     }
 
-    public void setTotalElements(long totalElements) {
+    public void setTotalElements(Long totalElements) {
         this.totalElements = totalElements;
     }
 
-    public int getTotalPages() {
+    public Integer getTotalPages() {
         return totalPages;
     }
 
-    public void setTotalPages(int totalPages) {
+    public void setTotalPages(Integer totalPages) {
         this.totalPages = totalPages;
     }
 
@@ -62,4 +87,20 @@ public class ProductsResponse {
     public void setNumber(int number) {
         this.number = number;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(Boolean hasNext) {
+        this.hasNext = hasNext;
+    }
 }
@@ -0,0 +1,25 @@
+package com.example.lets_play.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request body for POST /api/products/{id}/quantity:adjust. {@code delta} is signed: negative takes stock, positive
+ * returns or restocks it.
+ */
+public class QuantityAdjustRequest {
+
+    @NotNull(message = "Delta is required")
+    @Min(value = -1_000_000, message = "Delta must be between -1000000 and 1000000")
+    @Max(value = 1_000_000, message = "Delta must be between -1000000 and 1000000")
+    private Integer delta;
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+}
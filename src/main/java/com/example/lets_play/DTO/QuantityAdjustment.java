@@ -0,0 +1,36 @@
+package com.example.lets_play.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One line of a batch quantity adjustment (POST /api/products/quantity:adjust): product id and signed delta.
+ */
+public class QuantityAdjustment {
+
+    @NotBlank(message = "Product ID is required")
+    private String productId;
+
+    @NotNull(message = "Delta is required")
+    @Min(value = -1_000_000, message = "Delta must be between -1000000 and 1000000")
+    @Max(value = 1_000_000, message = "Delta must be between -1000000 and 1000000")
+    private Integer delta;
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public Integer getDelta() {
+        return delta;
+    }
+
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.lets_play.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request body for POST /api/products/quantity:adjust: 1–100 adjustments applied all-or-nothing.
+ * Lines for the same product are merged.
+ */
+public class QuantityBatchRequest {
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "At most 100 items per request")
+    private List<@Valid QuantityAdjustment> items;
+
+    public List<QuantityAdjustment> getItems() {
+        return items;
+    }
+
+    public void setItems(List<QuantityAdjustment> items) {
+        this.items = items;
+    }
+}
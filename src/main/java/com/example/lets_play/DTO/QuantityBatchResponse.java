@@ -0,0 +1,25 @@
+package com.example.lets_play.dto;
+
+import java.util.List;
+
+/**
+ * Response of a batch quantity adjustment: the new quantity of each product, one entry per distinct product id.
+ */
+public class QuantityBatchResponse {
+
+    private List<QuantityResponse> items;
+
+    public QuantityBatchResponse() {}
+
+    public QuantityBatchResponse(List<QuantityResponse> items) {
+        this.items = items;
+    }
+
+    public List<QuantityResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<QuantityResponse> items) {
+        this.items = items;
+    }
+}
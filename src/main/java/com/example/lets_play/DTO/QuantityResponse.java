@@ -0,0 +1,33 @@
+package com.example.lets_play.dto;
+
+/**
+ * Product quantity after an adjustment.
+ */
+public class QuantityResponse {
+
+    private String id;
+    private int quantity;
+
+    public QuantityResponse() {}
+
+    public QuantityResponse(String id, int quantity) {
+        this.id = id;
+        this.quantity = quantity;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.lets_play.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.lets_play.service.ProductCache;
+import com.example.lets_play.service.TokenAuthenticationCache;
+import com.example.lets_play.service.UserDirectory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Publishes hit/miss/load-time/eviction/size metrics of the in-process caches to Micrometer ({@code cache.*} meters, tagged by
+ * {@code cache} name). View them under {@code /actuator/metrics} (admin only, see SecurityConfig).
+ * <p>
+ * Setup: none; Spring Boot binds every {@link MeterBinder} bean to the application meter registry.
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    /** Binds the token, user-directory and product caches. */
+    @Bean
+    public MeterBinder cacheMetrics(
+            TokenAuthenticationCache tokenCache,
+            UserDirectory userDirectory,
+            ProductCache productCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, tokenCache.nativeCache(), "tokenAuthentications");
+            CaffeineCacheMetrics.monitor(registry, userDirectory.nativeCache(), "userDirectory");
+            CaffeineCacheMetrics.monitor(registry, productCache.nativeCache(), "products");
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.lets_play.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * {@link BCryptPasswordEncoder} that remembers its cost factor and reports any stored hash with a different cost
+ * (lower or higher) as needing an upgrade, so {@link com.example.lets_play.service.AuthService#signin} can re-hash
+ * it transparently on the next successful login.
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /** Cost factor (log2 rounds) used for new hashes. */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * True if the hash is not a BCrypt hash of this encoder's cost (format {@code $2a$NN$...}). Called through
+     * {@code upgradeEncoding}, which handles null and empty hashes.
+     */
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        if (encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$') {
+            return false;
+        }
+        int costStart = encodedPassword.indexOf('$', 1) + 1;
+        if (costStart <= 0 || costStart + 2 > encodedPassword.length()) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(costStart, costStart + 2)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
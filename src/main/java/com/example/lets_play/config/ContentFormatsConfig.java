@@ -0,0 +1,31 @@
+package com.example.lets_play.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.http.converter.smile.JacksonSmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Binary request and response bodies chosen by {@code Content-Type} / {@code Accept}: CBOR
+ * ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) for every body, Protobuf
+ * ({@code application/x-protobuf}) for the product bodies and errors (see {@link ProductProtobufHttpMessageConverter}).
+ * CBOR and Smile take their default slots after JSON, and Protobuf is appended to the end of the list (a custom
+ * converter would go before JSON), so JSON stays the answer to a missing or wildcard {@code Accept}.
+ * Product list pages are written by the controller itself, in the same formats.
+ * <p>
+ * Setup: none; servlet stack only.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ContentFormatsConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter())
+                .withSmileConverter(new JacksonSmileHttpMessageConverter())
+                .configureMessageConvertersList(
+                        converters -> converters.add(new ProductProtobufHttpMessageConverter()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.lets_play.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -13,24 +14,42 @@ import java.util.List;
  * Allows browser clients on other origins (e.g. Swagger UI, frontend on another port) to call
  * /api/** with credentials. For production, replace {@code allowedOriginPatterns("*")} with a list
  * of specific origins (e.g. your frontend URL).
+ * The same rules are registered for the servlet (MVC) and the reactive (WebFlux) stack; only the one matching the
+ * running application type is created.
  */
 @Configuration
 public class CorsConfig {
 
     /**
-     * Registers CORS for /api/**: any origin, common HTTP methods, all headers, credentials allowed.
+     * Registers CORS for /api/**: any origin, common HTTP methods, all headers, credentials allowed; ETag is exposed
+     * so browser clients can send it back in If-None-Match / If-Match.
      * Used by SecurityConfig via {@code .cors(cors -> {})}.
      */
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", apiCorsConfiguration());
+        return source;
+    }
+
+    /** The same CORS rules for the reactive stack. Used by ReactiveSecurityConfig via {@code .cors(cors -> {})}. */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public org.springframework.web.cors.reactive.CorsConfigurationSource reactiveCorsConfigurationSource() {
+        org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource source =
+                new org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/**", apiCorsConfiguration());
+        return source;
+    }
+
+    private static CorsConfiguration apiCorsConfiguration() {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOriginPatterns(List.of("*"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of("ETag"));
         config.setAllowCredentials(true);
-
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/api/**", config);
-        return source;
+        return config;
     }
 }
@@ -0,0 +1,193 @@
+package com.example.lets_play.config;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+
+/**
+ * Declares the indexes the repositories rely on and reconciles them with MongoDB once the application is ready,
+ * on a background thread so startup and readiness are never blocked by index builds.
+ * <ul>
+ *   <li>Missing declared indexes are created (an existing index with the same keys counts, whatever its name).</li>
+ *   <li>Indexes with no recorded use ({@code $indexStats}) and indexes not in the declared set are reported.</li>
+ *   <li>Each known repository query shape is explained; a winning plan with {@code COLLSCAN} is logged as a warning.</li>
+ * </ul>
+ * Spring Data's {@code @Indexed} is not relied on: automatic index creation is off by default in Spring Boot.
+ * <p>
+ * Setup: optional {@code mongodb.indexes.reconcile} (default true). New indexes and query shapes go in
+ * {@link #INDEXES} and {@link #QUERY_SHAPES}.
+ */
+@Component
+public class MongoIndexReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(MongoIndexReconciler.class);
+
+    /** An index the application needs. */
+    record IndexSpec(String collection, Document keys, boolean unique, String usedBy) {}
+
+    /** A repository query to check with explain. */
+    record QueryShape(String name, String collection, Document filter, Document sort) {}
+
+    static final List<IndexSpec> INDEXES = List.of(
+            new IndexSpec("products", new Document("userId", 1).append("_id", 1), false,
+                    "ProductReadRepository.findPage/findAfter by owner, countByUserId, ProductWriteRepository.deleteBatchByOwner"),
+            new IndexSpec("users", new Document("email", 1), true,
+                    "findByEmail, existsByEmail; enforces unique email"),
+            new IndexSpec("token_version_changes", new Document("changedAt", 1), false,
+                    "TokenVersionTable poll (stateless authentication)"));
+
+    static final List<QueryShape> QUERY_SHAPES = List.of(
+            new QueryShape("ProductReadRepository.findPage (owner)", "products",
+                    new Document("userId", "000000000000000000000000"), null),
+            new QueryShape("ProductReadRepository.findAfter (owner)", "products",
+                    new Document("userId", "000000000000000000000000")
+                            .append("_id", new Document("$gt", new ObjectId("000000000000000000000000"))),
+                    new Document("_id", 1)),
+            new QueryShape("ProductReadRepository.findAfter", "products",
+                    new Document("_id", new Document("$gt", new ObjectId("000000000000000000000000"))),
+                    new Document("_id", 1)),
+            new QueryShape("UserRepository.findByEmail", "users",
+                    new Document("email", "probe@example.invalid"), null),
+            new QueryShape("TokenVersionTable poll", "token_version_changes",
+                    new Document("changedAt", new Document("$gte", new Date(0))), null));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${mongodb.indexes.reconcile:true}")
+    private boolean enabled;
+
+    /** Starts reconciliation in the background once the application is ready. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::reconcile, "mongo-index-reconciler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Creates missing indexes, reports unused/undeclared ones, and checks query plans. Never throws. */
+    void reconcile() {
+        for (String collection : collections()) {
+            try {
+                reconcileCollection(collection);
+            } catch (RuntimeException e) {
+                log.warn("Index reconciliation of {} failed: {}", collection, e.getMessage());
+            }
+        }
+        for (QueryShape shape : QUERY_SHAPES) {
+            try {
+                checkPlan(shape);
+            } catch (RuntimeException e) {
+                log.warn("Could not explain {}: {}", shape.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void reconcileCollection(String collectionName) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+        List<Document> existing = collection.listIndexes().into(new ArrayList<>());
+
+        Set<String> declaredNames = new HashSet<>();
+        declaredNames.add("_id_");
+        for (IndexSpec spec : INDEXES) {
+            if (!spec.collection().equals(collectionName)) {
+                continue;
+            }
+            Document match = existing.stream()
+                    .filter(index -> spec.keys().equals(index.get("key", Document.class)))
+                    .findFirst()
+                    .orElse(null);
+            if (match != null) {
+                declaredNames.add(match.getString("name"));
+                log.debug("Index {} on {} present", match.getString("name"), collectionName);
+                continue;
+            }
+            String name = collection.createIndex(spec.keys(), new IndexOptions().unique(spec.unique()));
+            declaredNames.add(name);
+            log.info("Created missing index {} on {} (used by {})", name, collectionName, spec.usedBy());
+        }
+
+        for (Document index : existing) {
+            String name = index.getString("name");
+            if (!declaredNames.contains(name)) {
+                log.info("Index {} on {} is not declared by the application", name, collectionName);
+            }
+        }
+        reportUnused(collection, collectionName);
+    }
+
+    /** Logs indexes whose access counter is still zero since the server started tracking them. */
+    private void reportUnused(MongoCollection<Document> collection, String collectionName) {
+        for (Document stats : collection.aggregate(List.of(new Document("$indexStats", new Document())))) {
+            Document accesses = stats.get("accesses", Document.class);
+            Number ops = accesses != null ? accesses.get("ops", Number.class) : null;
+            String name = stats.getString("name");
+            if (ops != null && ops.longValue() == 0 && !"_id_".equals(name)) {
+                log.info("Index {} on {} has not been used since {}", name, collectionName, accesses.get("since"));
+            }
+        }
+    }
+
+    /** Explains the query shape and warns if the winning plan scans the whole collection. */
+    private void checkPlan(QueryShape shape) {
+        Document find = new Document("find", shape.collection()).append("filter", shape.filter());
+        if (shape.sort() != null) {
+            find.append("sort", shape.sort());
+        }
+        Document explain = mongoTemplate.getDb().runCommand(
+                new Document("explain", find).append("verbosity", "queryPlanner"));
+        Document planner = explain.get("queryPlanner", Document.class);
+        Object winningPlan = planner != null ? planner.get("winningPlan") : null;
+        if (containsCollScan(winningPlan)) {
+            log.warn("Query plan for {} on {} falls back to COLLSCAN (filter {}, sort {}); check declared indexes",
+                    shape.name(), shape.collection(), shape.filter().toJson(),
+                    shape.sort() != null ? shape.sort().toJson() : "{}");
+        }
+    }
+
+    /** Walks the plan tree (classic and slot-based formats) looking for a COLLSCAN stage. */
+    private static boolean containsCollScan(Object node) {
+        if (node instanceof Document doc) {
+            if ("COLLSCAN".equals(doc.get("stage"))) {
+                return true;
+            }
+            for (Object child : doc.values()) {
+                if (containsCollScan(child)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                if (containsCollScan(child)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> collections() {
+        Set<String> names = new HashSet<>();
+        INDEXES.forEach(spec -> names.add(spec.collection()));
+        return names;
+    }
+}
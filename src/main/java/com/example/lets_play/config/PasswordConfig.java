@@ -1,20 +1,63 @@
 package com.example.lets_play.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
  * Provides the password encoder used for hashing user passwords before storage.
- * BCrypt is used so plain-text passwords are never stored. No setup required; the bean is injected
- * wherever encoding or matching of passwords is needed (e.g. signup, signin, user create/update).
+ * BCrypt is used so plain-text passwords are never stored. The bean is injected wherever encoding or matching of
+ * passwords is needed (signup, signin, user create/update, admin seed), normally through the hashing lane.
+ * <p>
+ * The cost factor is calibrated at startup: starting from {@code security.password.bcrypt.min-strength}, it is raised
+ * while one hash on this hardware stays within {@code security.password.bcrypt.target-ms}. Set
+ * {@code security.password.bcrypt.strength} to pin a fixed cost instead (e.g. when nodes differ in speed).
+ * Hashes stored with another cost are re-hashed on the next successful signin.
  */
 @Configuration
 public class PasswordConfig {
 
-    /** BCrypt encoder for one-way hashing and verification of passwords. */
+    private static final Logger log = LoggerFactory.getLogger(PasswordConfig.class);
+
+    private static final int MAX_STRENGTH = 16;
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    /** BCrypt encoder for one-way hashing and verification of passwords, at the calibrated (or pinned) cost. */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt.strength:0}") int strength,
+            @Value("${security.password.bcrypt.min-strength:10}") int minStrength,
+            @Value("${security.password.bcrypt.target-ms:250}") long targetMs) {
+        if (strength > 0) {
+            log.info("BCrypt cost pinned to {}", strength);
+            return new CalibratedBCryptPasswordEncoder(strength);
+        }
+        return new CalibratedBCryptPasswordEncoder(calibrate(minStrength, targetMs));
+    }
+
+    /**
+     * Measures one hash at {@code minStrength} (after a warm-up) and doubles the estimate per extra cost step,
+     * returning the highest cost whose estimated hash time is within {@code targetMs}.
+     */
+    private static int calibrate(int minStrength, long targetMs) {
+        int baseCost = Math.max(4, Math.min(minStrength, MAX_STRENGTH));
+        new BCryptPasswordEncoder(baseCost).encode(CALIBRATION_PASSWORD);
+
+        long start = System.nanoTime();
+        new BCryptPasswordEncoder(baseCost).encode(CALIBRATION_PASSWORD);
+        double measuredMs = (System.nanoTime() - start) / 1_000_000.0;
+
+        int cost = baseCost;
+        double estimateMs = measuredMs;
+        while (cost < MAX_STRENGTH && estimateMs * 2 <= targetMs) {
+            cost++;
+            estimateMs *= 2;
+        }
+        log.info("BCrypt cost calibrated to {} (~{} ms per hash, target {} ms; measured {} ms at cost {})",
+                cost, Math.round(estimateMs), targetMs, Math.round(measuredMs), baseCost);
+        return cost;
     }
 }
@@ -0,0 +1,75 @@
+package com.example.lets_play.config;
+
+import java.io.IOException;
+import java.util.Set;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.example.lets_play.controller.ProductProtobuf;
+import com.example.lets_play.dto.Error;
+import com.example.lets_play.dto.ProductCreateRequest;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductUpdateRequest;
+import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.proto.ProductProtos;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+
+/**
+ * {@code application/x-protobuf} bodies for the product API: reads the create and update requests, writes products,
+ * pages and {@link Error} bodies, through the codecs generated from {@code products.proto} (see
+ * {@link ProductProtobuf}). Other types are not convertible, so other endpoints answer such a request with 406.
+ */
+public class ProductProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final Set<Class<?>> READABLE = Set.of(ProductCreateRequest.class, ProductUpdateRequest.class);
+    private static final Set<Class<?>> WRITABLE = Set.of(ProductResponse.class, ProductsResponse.class, Error.class);
+
+    public ProductProtobufHttpMessageConverter() {
+        super(ProductProtobuf.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return READABLE.contains(clazz) || WRITABLE.contains(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return READABLE.contains(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return WRITABLE.contains(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            if (clazz == ProductCreateRequest.class) {
+                return ProductProtobuf.fromMessage(ProductProtos.ProductCreate.parseFrom(inputMessage.getBody()));
+            }
+            return ProductProtobuf.fromMessage(ProductProtos.ProductUpdate.parseFrom(inputMessage.getBody()));
+        } catch (InvalidProtocolBufferException e) {
+            throw new HttpMessageNotReadableException("Invalid Protobuf body", e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        MessageLite message;
+        if (body instanceof ProductResponse product) {
+            message = ProductProtobuf.toMessage(product);
+        } else if (body instanceof ProductsResponse page) {
+            message = ProductProtobuf.toMessage(page);
+        } else {
+            message = ProductProtobuf.toMessage((Error) body);
+        }
+        message.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.lets_play.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.example.lets_play.model.Product;
+
+/**
+ * Sets {@code version: 0} on products stored before {@link Product#getVersion()} existed. Without it, Spring Data
+ * would treat such a product as new on save (null version) and its ETag and If-Match checks would not line up with
+ * the stored document. Idempotent; a no-op once every product has a version.
+ * <p>
+ * Setup: none; runs once at startup.
+ */
+@Component
+public class ProductVersionBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductVersionBackfill.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long updated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                new Update().set("version", 0L),
+                Product.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Initialized version on {} existing products", updated);
+        }
+    }
+}
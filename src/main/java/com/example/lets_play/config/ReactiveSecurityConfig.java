@@ -0,0 +1,67 @@
+package com.example.lets_play.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.example.lets_play.filter.ReactiveJwtAuthenticationFilter;
+import com.example.lets_play.repository.ReactiveUserRepository;
+import com.example.lets_play.service.SecurityService;
+import com.example.lets_play.service.UserDirectory;
+
+/**
+ * WebFlux counterpart of {@link SecurityConfig}, active in the reactive serving mode.
+ * <ul>
+ *   <li>Same JWT authentication (no sessions, no security context storage) and the same path rules, so both modes
+ *       answer a request with the same status.</li>
+ *   <li>Unauthenticated access to a protected path is 403, as on the servlet stack.</li>
+ *   <li>No rate limiting: {@link com.example.lets_play.filter.RateLimitFilter} is servlet-only.</li>
+ * </ul>
+ * Setup: none; {@link ReactiveJwtAuthenticationFilter} is created here and added at the authentication position.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    /** CORS (from CorsConfig), no CSRF, basic or form login, public vs authenticated paths, JWT filter. */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            SecurityService securityService,
+            UserDirectory userDirectory,
+            ReactiveUserRepository reactiveUsers) {
+        http
+            .cors(cors -> {})
+            .csrf(csrf -> csrf.disable())
+            .httpBasic(basic -> basic.disable())
+            .formLogin(form -> form.disable())
+            .logout(logout -> logout.disable())
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+            .authorizeExchange(auth -> auth
+                .pathMatchers("/api/auth/signin", "/api/auth/signup").permitAll()
+                .pathMatchers(HttpMethod.GET, "/api/products/export").authenticated()
+                .pathMatchers(HttpMethod.GET, "/api/products", "/api/products/*").permitAll()
+                .pathMatchers(HttpMethod.POST, "/api/products:batchGet").permitAll()
+                .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .pathMatchers("/actuator/health").permitAll()
+                .pathMatchers("/actuator/**").hasRole("ADMIN")
+                .pathMatchers("/api/**").authenticated()
+                .anyExchange().denyAll())
+            .addFilterAt(new ReactiveJwtAuthenticationFilter(securityService, userDirectory, reactiveUsers),
+                SecurityWebFiltersOrder.AUTHENTICATION);
+        return http.build();
+    }
+}
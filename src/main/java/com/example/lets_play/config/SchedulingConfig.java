@@ -0,0 +1,14 @@
+package com.example.lets_play.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} methods (e.g. the token version table's change poll).
+ * <p>
+ * Setup: none.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
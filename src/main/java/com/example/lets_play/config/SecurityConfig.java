@@ -1,6 +1,7 @@
 package com.example.lets_play.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,17 +13,21 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.example.lets_play.filter.JwtAuthenticationFilter;
+import com.example.lets_play.filter.RateLimitFilter;
 
 /**
  * Configures HTTP security and request authorization.
  * <ul>
  *   <li>Uses JWT for authentication (no sessions).</li>
- *   <li>Public: signin, signup, GET products (list and by id), OPTIONS.</li>
+ *   <li>Public: signin, signup, GET products (list and by id), POST products:batchGet, OPTIONS, actuator health.</li>
+ *   <li>Other actuator endpoints (e.g. cache metrics): ADMIN only.</li>
  *   <li>All other /api/** require a valid JWT; method-level rules (e.g. admin-only) use {@code @PreAuthorize}.</li>
+ *   <li>{@link RateLimitFilter} runs ahead of JWT validation so throttled requests cost no token work.</li>
  * </ul>
  * Setup: ensure {@link JwtAuthenticationFilter} is registered so the JWT is validated and the security context is set.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
@@ -30,9 +35,13 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     /**
      * Defines the security filter chain: CORS (from CorsConfig), no CSRF (stateless API),
-     * stateless sessions, public vs authenticated paths, and JWT filter before Spring Security's username/password filter.
+     * stateless sessions, public vs authenticated paths, JWT filter before Spring Security's username/password filter,
+     * and the rate limit filter before the JWT filter.
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -43,11 +52,16 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/signin", "/api/auth/signup").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/products/export").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/products", "/api/products/*").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/products:batchGet").permitAll()
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/**").authenticated()
                 .anyRequest().denyAll())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 }
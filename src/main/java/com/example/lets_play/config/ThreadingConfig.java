@@ -0,0 +1,68 @@
+package com.example.lets_play.config;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for blocking work that must not run where it is triggered.
+ * <p>
+ * {@link #CACHE_LOADS}: the MongoDB loads behind the in-process caches.
+ * <ul>
+ *   <li>Platform threads (default): loads run on the calling thread, inside the cache's per-key lock, which
+ *       collapses concurrent misses for one key into one query.</li>
+ *   <li>Virtual threads ({@code spring.threads.virtual.enabled=true} on Java 21+): each load runs on its own virtual
+ *       thread and callers wait on its future. A load inside the lock would hold a {@code synchronized} monitor for
+ *       the whole round trip, pinning the caller's carrier thread.</li>
+ * </ul>
+ * {@link #AUTH_COMPLETIONS}: what signup and signin do after the BCrypt step (saving the user, updating the
+ * directories, signing the JWT), so those MongoDB round trips never occupy a hashing lane thread. A small platform
+ * pool (one thread per CPU, at least two), or a virtual thread per task.
+ * <p>
+ * Setup: none; follows {@code spring.threads.virtual.enabled}.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    public static final String CACHE_LOADS = "cacheLoadExecutor";
+    public static final String AUTH_COMPLETIONS = "authCompletionExecutor";
+
+    @Bean(CACHE_LOADS)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public Executor callerRunsCacheLoadExecutor() {
+        return Runnable::run;
+    }
+
+    @Bean(CACHE_LOADS)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualThreadCacheLoadExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("cache-load-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    @Bean(AUTH_COMPLETIONS)
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformAuthCompletionExecutor() {
+        int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("auth-complete-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setDaemon(true);
+        return executor;
+    }
+
+    @Bean(AUTH_COMPLETIONS)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualThreadAuthCompletionExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("auth-complete-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
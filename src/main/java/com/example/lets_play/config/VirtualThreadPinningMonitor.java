@@ -0,0 +1,118 @@
+package com.example.lets_play.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, typically I/O or a lock wait inside a
+ * {@code synchronized} block or method. A pinned virtual thread holds a carrier (there is one per CPU) for the whole
+ * wait, so a hot pinned path caps throughput as badly as a small platform-thread pool.
+ * <ul>
+ *   <li>Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process; no recording is written to disk.</li>
+ *   <li>Counts pinned waits longer than the threshold in the {@code jvm.threads.virtual.pinned} counter.</li>
+ *   <li>Logs a warning with the stack trace the first time each pinning site (first non-JDK frame) is seen.</li>
+ * </ul>
+ * Setup: active only with virtual threads ({@code spring.threads.virtual.enabled=true} on Java 21+); optional
+ * {@code virtual-threads.pinned.threshold-ms} (default 20) and {@code virtual-threads.pinned.stack-depth} (default 24).
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    /** Distinct sites logged with a stack trace; beyond this, pinning is only counted. */
+    private static final int MAX_REPORTED_SITES = 1000;
+
+    private final Counter pinned;
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinned.threshold-ms:20}") long thresholdMs,
+            @Value("${virtual-threads.pinned.stack-depth:24}") int stackDepth) {
+        this.pinned = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier longer than the threshold")
+                .register(meterRegistry);
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.stackDepth = stackDepth;
+    }
+
+    /** Starts listening once the application is ready, so startup work is not reported. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+        } catch (RuntimeException e) {
+            log.warn("JFR is not available; virtual thread pinning is not monitored: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = frames.stream()
+                .filter(frame -> !isJdkFrame(frame))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(VirtualThreadPinningMonitor::frame)
+                .orElse("unknown");
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}:{}{}",
+                    event.getDuration().toMillis(),
+                    site,
+                    System.lineSeparator(),
+                    frames.stream()
+                            .limit(stackDepth)
+                            .map(frame -> "\tat " + frame(frame))
+                            .collect(Collectors.joining(System.lineSeparator())));
+        }
+    }
+
+    /** JDK frames (parking, monitor entry, socket reads) sit on top of every pinned stack; the site is below them. */
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.lets_play.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -17,10 +20,13 @@ import jakarta.validation.Valid;
 
 /**
  * Auth endpoints: signup and signin. All are public (permitAll in SecurityConfig). Return JWT in body; client sends as Bearer token.
+ * Responses are asynchronous (servlet async): the request thread is released while BCrypt runs on the hashing lane.
+ * A saturated lane answers 503 with {@code Retry-After}.
  * <p>
  * Setup: none.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 public class AuthController {
 
@@ -29,15 +35,15 @@ public class AuthController {
 
     /** Register a new user (role USER). Returns 201 with JWT; 409 if email already registered. */
     @PostMapping("/signup")
-    public ResponseEntity<AuthResponse> signup(@Valid @RequestBody SignupRequest request) {
-        AuthResponse response = authService.signup(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> signup(@Valid @RequestBody SignupRequest request) {
+        return authService.signup(request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
     /** Authenticate by email/password. Returns 200 with JWT; 401 if invalid. */
     @PostMapping("/signin")
-    public ResponseEntity<AuthResponse> signin(@Valid @RequestBody SigninRequest request) {
-        AuthResponse response = authService.signin(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> signin(@Valid @RequestBody SigninRequest request) {
+        return authService.signin(request)
+                .thenApply(ResponseEntity::ok);
     }
 }
@@ -0,0 +1,50 @@
+package com.example.lets_play.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.lets_play.dto.DeletionJobResponse;
+import com.example.lets_play.service.UserDeletionService;
+
+/**
+ * Progress of background cascade deletes started by user deletion. Admin only.
+ * <ul>
+ *   <li>GET /admin/deletion-jobs: all jobs, newest first.</li>
+ *   <li>GET /admin/deletion-jobs/{userId}: the job of one deleted user.</li>
+ * </ul>
+ * Setup: none.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/deletion-jobs")
+public class DeletionJobController {
+
+    @Autowired
+    private UserDeletionService userDeletion;
+
+    /** List deletion jobs. Admin only. */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<DeletionJobResponse> listJobs() {
+        return userDeletion.listJobs();
+    }
+
+    /** Get the deletion job of a user. Admin only. 404 if the user was never deleted. */
+    @GetMapping("/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DeletionJobResponse> getJob(@PathVariable String userId) {
+        return userDeletion.findJob(userId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Deletion job not found"));
+    }
+}
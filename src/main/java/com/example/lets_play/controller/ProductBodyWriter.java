@@ -0,0 +1,159 @@
+package com.example.lets_play.controller;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import com.example.lets_play.dto.ProductField;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.proto.ProductProtos;
+import com.google.protobuf.CodedOutputStream;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Writes the product bodies {@link ProductController} assembles itself (list pages, {@code fields=} selections) in
+ * the format negotiated from {@code Accept}, one product at a time: JSON, CBOR and Smile with
+ * {@link ProductJsonWriter} on a generator of that format, Protobuf with the generated {@link ProductProtos} codecs.
+ * Bodies returned as objects go through the message converters instead and come out the same.
+ */
+abstract class ProductBodyWriter implements Closeable {
+
+    static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    /**
+     * Supported formats, in the order of the message converters; the first one wins when the client accepts several
+     * equally (e.g. no Accept header).
+     */
+    static final List<MediaType> MEDIA_TYPES = List.of(
+            MediaType.APPLICATION_JSON, SMILE, MediaType.APPLICATION_CBOR, ProductProtobuf.MEDIA_TYPE);
+
+    private static final ObjectMapper CBOR_MAPPER = CBORMapper.builder().build();
+    private static final ObjectMapper SMILE_MAPPER = SmileMapper.builder().build();
+
+    /** The supported format the client prefers, given its acceptable types in order of preference; 406 if none. */
+    static MediaType negotiate(List<MediaType> acceptable) throws HttpMediaTypeNotAcceptableException {
+        for (MediaType requested : acceptable) {
+            for (MediaType supported : MEDIA_TYPES) {
+                if (requested.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(MEDIA_TYPES);
+    }
+
+    /** A writer of {@code format} (one of {@link #MEDIA_TYPES}); JSON uses the application's {@code jsonMapper}. */
+    static ProductBodyWriter open(MediaType format, OutputStream out, ObjectMapper jsonMapper) {
+        if (format.equals(ProductProtobuf.MEDIA_TYPE)) {
+            return new Protobuf(out);
+        }
+        ObjectMapper mapper = format.equals(MediaType.APPLICATION_CBOR) ? CBOR_MAPPER
+                : format.equals(SMILE) ? SMILE_MAPPER
+                : jsonMapper;
+        return new Jackson(mapper.createGenerator(out));
+    }
+
+    /** The whole body: one product with only {@code fields}. */
+    abstract void writeProduct(ProductResponse product, Set<ProductField> fields);
+
+    /** Starts a page body; write its products with {@link #writePageItem}, then {@link #endPage}. */
+    abstract void startPage();
+
+    abstract void writePageItem(ProductResponse product, Set<ProductField> fields);
+
+    /** Writes the page metadata (the page's own content is ignored). */
+    abstract void endPage(ProductsResponse page);
+
+    private static final class Jackson extends ProductBodyWriter {
+
+        private final JsonGenerator generator;
+
+        Jackson(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        void writeProduct(ProductResponse product, Set<ProductField> fields) {
+            ProductJsonWriter.writeProduct(generator, product, fields);
+        }
+
+        @Override
+        void startPage() {
+            ProductJsonWriter.startPage(generator);
+        }
+
+        @Override
+        void writePageItem(ProductResponse product, Set<ProductField> fields) {
+            ProductJsonWriter.writeProduct(generator, product, fields);
+        }
+
+        @Override
+        void endPage(ProductsResponse page) {
+            ProductJsonWriter.endPage(generator, page);
+        }
+
+        @Override
+        public void close() {
+            generator.close();
+        }
+    }
+
+    /**
+     * Each page item is written as one {@code content} entry as it arrives, then the metadata as a second
+     * {@code ProductPage} message: Protobuf parses concatenated messages as one, merged.
+     */
+    private static final class Protobuf extends ProductBodyWriter {
+
+        private final CodedOutputStream output;
+
+        Protobuf(OutputStream out) {
+            this.output = CodedOutputStream.newInstance(out);
+        }
+
+        @Override
+        void writeProduct(ProductResponse product, Set<ProductField> fields) {
+            try {
+                ProductProtobuf.toMessage(product, fields).writeTo(output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void startPage() {}
+
+        @Override
+        void writePageItem(ProductResponse product, Set<ProductField> fields) {
+            try {
+                output.writeMessage(ProductProtos.ProductPage.CONTENT_FIELD_NUMBER,
+                        ProductProtobuf.toMessage(product, fields));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void endPage(ProductsResponse page) {
+            try {
+                ProductProtobuf.metadata(page).build().writeTo(output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            output.flush();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.lets_play.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.lets_play.dto.ProductBatchGetRequest;
+import com.example.lets_play.dto.ProductBatchGetResponse;
+import com.example.lets_play.dto.ProductBulkRequest;
+import com.example.lets_play.dto.ProductBulkResponse;
+import com.example.lets_play.dto.ProductImportError;
+import com.example.lets_play.dto.ProductImportProgress;
+import com.example.lets_play.model.User;
+import com.example.lets_play.service.ProductBulkService;
+import com.example.lets_play.service.ProductImportService;
+import com.example.lets_play.service.ProductImporter;
+import com.example.lets_play.service.ProductService;
+import com.example.lets_play.service.SecurityService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Bulk product reads and writes. Mapped without a class-level prefix because the custom-method paths
+ * ({@code /api/products:bulk}, {@code /api/products:import}, ...) are not sub-paths of {@code /api/products}.
+ * <ul>
+ *   <li>POST /products:batchGet: public; products by id list, like GET /products?ids=.</li>
+ *   <li>POST /products:bulk: authenticated; creates need the USER role, updates/deletes need owner or admin.</li>
+ *   <li>POST /products:import: streaming NDJSON/CSV upload; USER role for own products, admin with {@code userId}.</li>
+ * </ul>
+ * Setup: none.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ProductBulkController {
+
+    @Autowired
+    private ProductBulkService productBulkService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private SecurityService securityService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Get up to 100 products by id with one query. Public. One item per distinct id, in request order, each marked
+     * {@code found}; malformed or unknown ids are not found.
+     */
+    @PostMapping("/api/products:batchGet")
+    public ResponseEntity<ProductBatchGetResponse> batchGet(@Valid @RequestBody ProductBatchGetRequest request) {
+        return ResponseEntity.ok(productService.getProductsByIds(request.getIds()));
+    }
+
+    /**
+     * Apply up to 500 create/update/delete operations in one unordered bulk write. Always 200 for a well-formed
+     * request; each operation's outcome is in {@code results}.
+     */
+    @PostMapping("/api/products:bulk")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ProductBulkResponse> bulk(@Valid @RequestBody ProductBulkRequest request) {
+        User currentUser = securityService.getCurrentUserOrThrow();
+        return ResponseEntity.ok(productBulkService.execute(request.getOperations(), currentUser));
+    }
+
+    /**
+     * Import products from an NDJSON ({@code application/x-ndjson}) or CSV ({@code text/csv}) body of any size. The
+     * body is read and stored incrementally; the response is NDJSON, written as the import proceeds: {@code error}
+     * lines for rejected rows, a {@code progress} line per stored batch, and a final {@code done} line. Resume an
+     * interrupted import by sending the same body with the reported {@code importId} and {@code offset} set to the
+     * last {@code committedLine}; rows stored past that line are rejected as duplicates, not stored twice.
+     */
+    @PostMapping(value = "/api/products:import", consumes = {ProductController.NDJSON, "text/csv"})
+    @PreAuthorize("isAuthenticated()")
+    public void importProducts(
+            @RequestParam(required = false) String importId,
+            @RequestParam(defaultValue = "0") long offset,
+            @RequestParam(required = false) String userId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        User currentUser = securityService.getCurrentUserOrThrow();
+        ProductImporter.Format format = formatOf(request.getContentType());
+        NdjsonEvents events = new NdjsonEvents(response);
+        try {
+            productImportService.importProducts(
+                    request.getInputStream(), format, importId, offset, userId, currentUser, events);
+        } finally {
+            events.close();
+        }
+    }
+
+    /**
+     * Writes import events as NDJSON lines, flushing each so progress is visible while the upload continues. The
+     * response is only started by the first event, so failures before it (bad owner, bad CSV header) still get a
+     * regular error response.
+     */
+    private final class NdjsonEvents implements ProductImporter.Listener {
+
+        private final HttpServletResponse response;
+        private JsonGenerator generator;
+
+        NdjsonEvents(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void onError(ProductImportError error) {
+            write(error);
+        }
+
+        @Override
+        public void onProgress(ProductImportProgress progress) {
+            write(progress);
+        }
+
+        private void write(Object event) {
+            if (generator == null) {
+                response.setContentType(ProductController.NDJSON);
+                response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                try {
+                    generator = objectMapper.createGenerator(response.getOutputStream());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            generator.writePOJO(event);
+            generator.writeRaw('\n');
+            generator.flush();
+        }
+
+        void close() {
+            if (generator != null) {
+                generator.close();
+            }
+        }
+    }
+
+    private static ProductImporter.Format formatOf(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        if (mediaType.isCompatibleWith(MediaType.valueOf("text/csv"))) {
+            return ProductImporter.Format.CSV;
+        }
+        if (mediaType.isCompatibleWith(MediaType.valueOf(ProductController.NDJSON))) {
+            return ProductImporter.Format.NDJSON;
+        }
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+}
@@ -1,88 +1,272 @@
 package com.example.lets_play.controller;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
 
+import com.example.lets_play.dto.ProductBatchGetResponse;
 import com.example.lets_play.dto.ProductCreateRequest;
+import com.example.lets_play.dto.ProductField;
 import com.example.lets_play.dto.ProductResponse;
 import com.example.lets_play.dto.ProductUpdateRequest;
 import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.dto.QuantityAdjustRequest;
+import com.example.lets_play.dto.QuantityBatchRequest;
+import com.example.lets_play.dto.QuantityBatchResponse;
+import com.example.lets_play.dto.QuantityResponse;
 import com.example.lets_play.model.User;
 import com.example.lets_play.service.ProductService;
 import com.example.lets_play.service.SecurityService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
 
 /**
  * Product catalog and management.
  * <ul>
- *   <li>GET /products, GET /products/{id}: public.</li>
+ *   <li>GET /products, GET /products/{id}: public. The list supports page/size or keyset (cursor) pagination.</li>
+ *   <li>GET /products?ids=a,b,c: public batch get (see also POST /products:batchGet).</li>
+ *   <li>GET /products/export: authenticated; streams the catalog as NDJSON.</li>
  *   <li>POST /products: USER role only; product is owned by current user.</li>
  *   <li>PUT /products/{id}, DELETE /products/{id}: authenticated; owner or admin only.</li>
+ *   <li>POST /products/{id}/quantity:adjust, POST /products/quantity:adjust: atomic stock changes; owner or admin.</li>
  * </ul>
+ * Reads carry a strong {@code ETag} (see {@link ProductETags}) and answer {@code If-None-Match} with 304; writes
+ * accept {@code If-Match} for optimistic concurrency. The list and get-by-id accept {@code fields} (comma-separated
+ * property names) to return only those properties.
+ * Product bodies are JSON, CBOR, Smile or Protobuf as the client asks with {@code Accept} / {@code Content-Type}
+ * (see {@link com.example.lets_play.config.ContentFormatsConfig}); reads answer with {@code Vary: Accept}.
  * Setup: none.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/products")
 public class ProductController {
 
+    static final String NDJSON = "application/x-ndjson";
+    /** Initial size of a list page's body buffer; a 20-product page of typical products fits. */
+    private static final int PAGE_BUFFER_SIZE = 8192;
+    /** Initial size of a single product's body buffer. */
+    private static final int PRODUCT_BUFFER_SIZE = 1024;
+
     @Autowired
     private ProductService productService;
     
     @Autowired
     private SecurityService securityService;
 
-    /** List products with optional userId filter and pagination (page, size). Public. */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+
+    /**
+     * List products with optional userId filter. Public. Pagination is page/size by default; passing {@code after}
+     * (last product id seen) or {@code cursor} (a previous {@code nextCursor}; empty for the first page) switches to
+     * keyset mode, which returns {@code nextCursor} instead of totals. {@code includeTotal=false} drops the totals from
+     * page mode (and their cost) in favour of {@code hasNext}. {@code fields} limits the properties of each product,
+     * both in the response and in what is read from MongoDB.
+     * <p>
+     * Each product is written with {@link ProductBodyWriter}, in the negotiated format, as it comes off the cursor.
+     * The page is collected as bytes, not objects, because its {@code ETag} (computed along the way) must be sent
+     * before the body; a matching {@code If-None-Match} gets 304 and the bytes are dropped.
+     */
     @GetMapping
-    public ProductsResponse listProducts(
+    public void listProducts(
             @RequestParam(required = false) String userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        return productService.listProducts(userId, page, size);
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest webRequest,
+            HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+        MediaType format = negotiate(webRequest);
+        Set<ProductField> selected = productService.parseFields(fields);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(PAGE_BUFFER_SIZE);
+        ProductETags.PageTag tag = new ProductETags.PageTag(selected, format);
+        ProductsResponse metadata;
+        try (ProductBodyWriter writer = ProductBodyWriter.open(format, body, objectMapper)) {
+            Consumer<ProductResponse> items = product -> {
+                writer.writePageItem(product, selected);
+                tag.add(product);
+            };
+            writer.startPage();
+            if (after != null) {
+                metadata = productService.listProductsAfter(userId, after, size, selected, items);
+            } else if (cursor != null) {
+                String afterId = productService.decodeCursor(cursor);
+                metadata = productService.listProductsAfter(userId, afterId, size, selected, items);
+            } else {
+                metadata = productService.listProducts(userId, page, size, includeTotal, selected, items);
+            }
+            writer.endPage(metadata);
+        }
+        writeBody(body, format, tag.finish(metadata), webRequest, response);
+    }
+
+    /** Get up to 100 products by id in one query, in request order with not-found markers. Public. */
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductBatchGetResponse> getProductsByIds(@RequestParam List<String> ids) {
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
+    /**
+     * Export the catalog (optionally one owner's products) as NDJSON, one product per line in id order. Authenticated.
+     * Streamed from a single MongoDB cursor straight to the response: memory use is independent of catalog size and
+     * the cursor only advances as fast as the client reads. Resume with {@code after} = last id received.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("isAuthenticated()")
+    public void exportProducts(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String after,
+            HttpServletResponse response) throws IOException {
+        try (Stream<ProductResponse> products = productService.streamProducts(userId, after)) {
+            response.setContentType(NDJSON);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+                products.forEach(product -> {
+                    ProductJsonWriter.writeProduct(generator, product);
+                    generator.writeRaw('\n');
+                });
+            }
+        }
     }
 
     /** Create a product owned by the current user. USER role only. Returns 201. */
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductCreateRequest request) {
+    public ResponseEntity<ProductResponse> createProduct(
+            @Valid @RequestBody ProductCreateRequest request,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        MediaType format = negotiate(webRequest);
         User currentUser = securityService.getCurrentUserOrThrow();
         ProductResponse response = productService.createProduct(request, currentUser);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ProductETags.of(response, format))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(response);
     }
 
-    /** Get product by id. Public. */
+    /**
+     * Get product by id, optionally with only the {@code fields} properties. Public. Returns 304 when
+     * {@code If-None-Match} matches the current ETag. The product itself comes whole from the cache, so one entry
+     * serves every selection and format.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable String id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public void getProductById(
+            @PathVariable String id,
+            @RequestParam(required = false) String fields,
+            NativeWebRequest webRequest,
+            HttpServletResponse response) throws IOException, HttpMediaTypeNotAcceptableException {
+        MediaType format = negotiate(webRequest);
+        Set<ProductField> selected = productService.parseFields(fields);
+        ProductResponse product = productService.getProductById(id);
+        ByteArrayOutputStream body = new ByteArrayOutputStream(PRODUCT_BUFFER_SIZE);
+        try (ProductBodyWriter writer = ProductBodyWriter.open(format, body, objectMapper)) {
+            writer.writeProduct(product, selected);
+        }
+        writeBody(body, format, ProductETags.of(product, selected, format), webRequest, response);
     }
 
-    /** Update product. Owner or admin only; at least one field required. */
+    /**
+     * Update product. Owner or admin only; at least one field required. With {@code If-Match} (an ETag from a
+     * previous read) the update only applies to that version; 412 otherwise.
+     */
     @PutMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable String id,
-            @Valid @RequestBody ProductUpdateRequest request) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ProductUpdateRequest request,
+            NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        MediaType format = negotiate(webRequest);
         User currentUser = securityService.getCurrentUserOrThrow();
-        return ResponseEntity.ok(productService.updateProduct(id, request, currentUser));
+        ProductResponse response = productService.updateProduct(
+                id, request, currentUser, ProductETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ProductETags.of(response, format))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(response);
     }
 
-    /** Delete product. Owner or admin only. Returns 204. */
+    /** Atomically add a signed delta to the product's quantity. Owner or admin only; 409 if stock is insufficient. */
+    @PostMapping("/{id}/quantity:adjust")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuantityResponse> adjustQuantity(
+            @PathVariable String id,
+            @Valid @RequestBody QuantityAdjustRequest request) {
+        User currentUser = securityService.getCurrentUserOrThrow();
+        return ResponseEntity.ok(productService.adjustQuantity(id, request.getDelta(), currentUser));
+    }
+
+    /** Adjust the quantities of several products all-or-nothing (e.g. one order). Owner or admin of each product. */
+    @PostMapping("/quantity:adjust")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<QuantityBatchResponse> adjustQuantities(@Valid @RequestBody QuantityBatchRequest request) {
+        User currentUser = securityService.getCurrentUserOrThrow();
+        return ResponseEntity.ok(productService.adjustQuantities(request.getItems(), currentUser));
+    }
+
+    /** Delete product. Owner or admin only. Returns 204. With {@code If-Match}, 412 unless the version matches. */
     @DeleteMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Void> deleteProduct(@PathVariable String id) {
+    public ResponseEntity<Void> deleteProduct(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         User currentUser = securityService.getCurrentUserOrThrow();
-        productService.deleteProduct(id, currentUser);
+        productService.deleteProduct(id, currentUser, ProductETags.parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    /** The body format for this request's {@code Accept}, the same one the message converters pick; 406 if none. */
+    private MediaType negotiate(NativeWebRequest webRequest) throws HttpMediaTypeNotAcceptableException {
+        return ProductBodyWriter.negotiate(contentNegotiationManager.resolveMediaTypes(webRequest));
+    }
+
+    /** Sends a body assembled in memory, or 304 if {@code If-None-Match} matches {@code eTag}. */
+    private static void writeBody(
+            ByteArrayOutputStream body,
+            MediaType format,
+            String eTag,
+            NativeWebRequest webRequest,
+            HttpServletResponse response) throws IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (webRequest.checkNotModified(eTag)) {
+            return;
+        }
+        response.setContentType(format.toString());
+        response.setContentLength(body.size());
+        body.writeTo(response.getOutputStream());
+    }
 }
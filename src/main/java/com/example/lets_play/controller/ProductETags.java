@@ -0,0 +1,151 @@
+package com.example.lets_play.controller;
+
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.lets_play.dto.ProductField;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductsResponse;
+
+/**
+ * Strong ETags for product representations, derived from document versions so they can be computed (and a 304
+ * returned) without serializing the body.
+ * <ul>
+ *   <li>Single product: {@code "<version>"}, with {@code -<field mask>} appended for a {@code fields=} selection and
+ *       {@code .<format>} for a body format other than JSON (each a different representation of the same
+ *       version).</li>
+ *   <li>List page: {@code "p<hash>"}, a 64-bit FNV-1a hash of every item's id and version plus the page metadata
+ *       (totals, cursor), any field selection and the body format, so any change to an item or to the page shape
+ *       changes the tag.</li>
+ * </ul>
+ */
+final class ProductETags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ProductETags() {}
+
+    /** Tag of the full representation in {@code format}. */
+    static String of(ProductResponse product, MediaType format) {
+        return of(product, ProductField.ALL, format);
+    }
+
+    /** Tag of the representation with only {@code fields}, in {@code format}. */
+    static String of(ProductResponse product, Set<ProductField> fields, MediaType format) {
+        StringBuilder tag = new StringBuilder(24).append('"').append(product.getVersion());
+        if (!fields.containsAll(ProductField.ALL)) {
+            tag.append('-').append(Integer.toHexString(ProductField.mask(fields)));
+        }
+        String formatCode = formatCode(format);
+        if (formatCode != null) {
+            tag.append('.').append(formatCode);
+        }
+        return tag.append('"').toString();
+    }
+
+    /** Tag of a full list page in {@code format}. */
+    static String of(ProductsResponse page, MediaType format) {
+        PageTag tag = new PageTag(ProductField.ALL, format);
+        page.getContent().forEach(tag::add);
+        return tag.finish(page);
+    }
+
+    /**
+     * The list page tag computed item by item, for pages whose products are written as they are read: the same
+     * products, metadata, fields and format give the same tag as {@link ProductETags#of(ProductsResponse, MediaType)}.
+     */
+    static final class PageTag {
+
+        private long hash = FNV_OFFSET;
+
+        /** Tag of a page of products with only {@code fields}, in {@code format}. */
+        PageTag(Set<ProductField> fields, MediaType format) {
+            if (!fields.containsAll(ProductField.ALL)) {
+                hash = mix(hash, ProductField.mask(fields));
+            }
+            String formatCode = formatCode(format);
+            if (formatCode != null) {
+                hash = mix(hash, formatCode);
+            }
+        }
+
+        void add(ProductResponse product) {
+            hash = mix(hash, product.getId());
+            hash = mix(hash, product.getVersion());
+        }
+
+        /** The tag, given the page metadata (its content is ignored). */
+        String finish(ProductsResponse page) {
+            long tag = hash;
+            tag = mix(tag, page.getTotalElements() != null ? page.getTotalElements() : -1);
+            tag = mix(tag, page.getTotalPages() != null ? page.getTotalPages() : -1);
+            tag = mix(tag, page.getSize());
+            tag = mix(tag, page.getNumber());
+            tag = mix(tag, page.getNextCursor());
+            tag = mix(tag, page.getHasNext() == null ? -1 : page.getHasNext() ? 1 : 0);
+            return "\"p" + Long.toHexString(tag) + "\"";
+        }
+    }
+
+    /**
+     * Expected version from an {@code If-Match} header: null when absent or {@code *} (any current version).
+     * The tag of a {@code fields=} read or of another body format names the same version, so its field mask and
+     * format are ignored. A weak, malformed or multi-valued tag can never match a strong version tag, so it fails
+     * with 412.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                String version = tag.substring(1, tag.length() - 1);
+                int end = 0;
+                while (end < version.length() && version.charAt(end) != '-' && version.charAt(end) != '.') {
+                    end++;
+                }
+                return Long.parseLong(version.substring(0, end));
+            } catch (NumberFormatException e) {
+                // fall through to 412
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Product version does not match If-Match");
+    }
+
+    /** Short name of a non-JSON body format (one of {@link ProductBodyWriter#MEDIA_TYPES}); null for JSON. */
+    private static String formatCode(MediaType format) {
+        if (format.equals(MediaType.APPLICATION_CBOR)) {
+            return "cbor";
+        }
+        if (format.equals(ProductBodyWriter.SMILE)) {
+            return "smile";
+        }
+        if (format.equals(ProductProtobuf.MEDIA_TYPE)) {
+            return "protobuf";
+        }
+        return null;
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return mix(hash, -1);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.lets_play.controller;
+
+import java.util.Set;
+
+import com.example.lets_play.dto.ProductField;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductsResponse;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+
+/**
+ * Writes {@link ProductResponse} and {@link ProductsResponse} JSON property by property on a {@link JsonGenerator},
+ * with property names encoded once up front, instead of going through Jackson's bean serialization. Lets the list and
+ * export endpoints write each product as it is read from the MongoDB cursor: no page list or object graph is kept.
+ * Works on any Jackson generator, so the same code writes the CBOR and Smile bodies.
+ * <p>
+ * The output is what the application's {@code ObjectMapper} writes for the same objects: properties in alphabetical
+ * order (the Jackson 3 default), a null {@code description} written as null, null page fields left out. A property
+ * added to either DTO must be added here too (and to {@link ProductField}).
+ */
+public final class ProductJsonWriter {
+
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString QUANTITY = new SerializedString("quantity");
+    private static final SerializableString USER_ID = new SerializedString("userId");
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializableString NEXT_CURSOR = new SerializedString("nextCursor");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+
+    private ProductJsonWriter() {}
+
+    /** One product object. */
+    public static void writeProduct(JsonGenerator generator, ProductResponse product) {
+        writeProduct(generator, product, ProductField.ALL);
+    }
+
+    /** One product object with only the given properties. */
+    public static void writeProduct(JsonGenerator generator, ProductResponse product, Set<ProductField> fields) {
+        generator.writeStartObject();
+        if (fields.contains(ProductField.DESCRIPTION)) {
+            generator.writeName(DESCRIPTION);
+            writeNullableString(generator, product.getDescription());
+        }
+        if (fields.contains(ProductField.ID)) {
+            generator.writeName(ID);
+            writeNullableString(generator, product.getId());
+        }
+        if (fields.contains(ProductField.NAME)) {
+            generator.writeName(NAME);
+            writeNullableString(generator, product.getName());
+        }
+        if (fields.contains(ProductField.PRICE)) {
+            generator.writeName(PRICE);
+            generator.writeNumber(product.getPrice());
+        }
+        if (fields.contains(ProductField.QUANTITY)) {
+            generator.writeName(QUANTITY);
+            generator.writeNumber(product.getQuantity());
+        }
+        if (fields.contains(ProductField.USER_ID)) {
+            generator.writeName(USER_ID);
+            writeNullableString(generator, product.getUserId());
+        }
+        generator.writeEndObject();
+    }
+
+    /** Opens a page object and its {@code content} array; write the products next, then {@link #endPage}. */
+    public static void startPage(JsonGenerator generator) {
+        generator.writeStartObject();
+        generator.writeName(CONTENT);
+        generator.writeStartArray();
+    }
+
+    /** Closes the {@code content} array and writes the page metadata (the page's own content is ignored). */
+    public static void endPage(JsonGenerator generator, ProductsResponse page) {
+        generator.writeEndArray();
+        if (page.getHasNext() != null) {
+            generator.writeName(HAS_NEXT);
+            generator.writeBoolean(page.getHasNext());
+        }
+        if (page.getNextCursor() != null) {
+            generator.writeName(NEXT_CURSOR);
+            generator.writeString(page.getNextCursor());
+        }
+        generator.writeName(NUMBER);
+        generator.writeNumber(page.getNumber());
+        generator.writeName(SIZE);
+        generator.writeNumber(page.getSize());
+        if (page.getTotalElements() != null) {
+            generator.writeName(TOTAL_ELEMENTS);
+            generator.writeNumber(page.getTotalElements());
+        }
+        if (page.getTotalPages() != null) {
+            generator.writeName(TOTAL_PAGES);
+            generator.writeNumber(page.getTotalPages());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNullableString(JsonGenerator generator, String value) {
+        if (value != null) {
+            generator.writeString(value);
+        } else {
+            generator.writeNull();
+        }
+    }
+}
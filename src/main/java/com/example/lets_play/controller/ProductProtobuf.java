@@ -0,0 +1,106 @@
+package com.example.lets_play.controller;
+
+import java.util.Set;
+
+import org.springframework.http.MediaType;
+
+import com.example.lets_play.dto.Error;
+import com.example.lets_play.dto.ProductCreateRequest;
+import com.example.lets_play.dto.ProductField;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductUpdateRequest;
+import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.proto.ProductProtos;
+
+/**
+ * Maps the product DTOs to and from the Protobuf messages generated from {@code src/main/proto/products.proto}.
+ * Null DTO fields are left unset (Protobuf has no null), which is how they read back.
+ */
+public final class ProductProtobuf {
+
+    public static final MediaType MEDIA_TYPE = new MediaType("application", "x-protobuf");
+
+    private ProductProtobuf() {}
+
+    public static ProductProtos.Product toMessage(ProductResponse product) {
+        return toMessage(product, ProductField.ALL);
+    }
+
+    /** The product with only the given fields set. */
+    public static ProductProtos.Product toMessage(ProductResponse product, Set<ProductField> fields) {
+        ProductProtos.Product.Builder message = ProductProtos.Product.newBuilder();
+        if (fields.contains(ProductField.ID) && product.getId() != null) {
+            message.setId(product.getId());
+        }
+        if (fields.contains(ProductField.NAME) && product.getName() != null) {
+            message.setName(product.getName());
+        }
+        if (fields.contains(ProductField.DESCRIPTION) && product.getDescription() != null) {
+            message.setDescription(product.getDescription());
+        }
+        if (fields.contains(ProductField.PRICE)) {
+            message.setPrice(product.getPrice());
+        }
+        if (fields.contains(ProductField.QUANTITY)) {
+            message.setQuantity(product.getQuantity());
+        }
+        if (fields.contains(ProductField.USER_ID) && product.getUserId() != null) {
+            message.setUserId(product.getUserId());
+        }
+        return message.build();
+    }
+
+    public static ProductProtos.ProductPage toMessage(ProductsResponse page) {
+        ProductProtos.ProductPage.Builder message = metadata(page);
+        if (page.getContent() != null) {
+            page.getContent().forEach(product -> message.addContent(toMessage(product)));
+        }
+        return message.build();
+    }
+
+    /** Every page field except {@code content}. */
+    static ProductProtos.ProductPage.Builder metadata(ProductsResponse page) {
+        ProductProtos.ProductPage.Builder message = ProductProtos.ProductPage.newBuilder()
+                .setSize(page.getSize())
+                .setNumber(page.getNumber());
+        if (page.getTotalElements() != null) {
+            message.setTotalElements(page.getTotalElements());
+        }
+        if (page.getTotalPages() != null) {
+            message.setTotalPages(page.getTotalPages());
+        }
+        if (page.getNextCursor() != null) {
+            message.setNextCursor(page.getNextCursor());
+        }
+        if (page.getHasNext() != null) {
+            message.setHasNext(page.getHasNext());
+        }
+        return message;
+    }
+
+    public static ProductProtos.Error toMessage(Error error) {
+        ProductProtos.Error.Builder message = ProductProtos.Error.newBuilder().setStatus(error.getStatus());
+        if (error.getMessage() != null) {
+            message.setMessage(error.getMessage());
+        }
+        return message.build();
+    }
+
+    public static ProductCreateRequest fromMessage(ProductProtos.ProductCreate message) {
+        ProductCreateRequest request = new ProductCreateRequest();
+        request.setName(message.getName());
+        request.setDescription(message.hasDescription() ? message.getDescription() : null);
+        request.setPrice(message.getPrice());
+        request.setQuantity(message.getQuantity());
+        return request;
+    }
+
+    public static ProductUpdateRequest fromMessage(ProductProtos.ProductUpdate message) {
+        ProductUpdateRequest request = new ProductUpdateRequest();
+        request.setName(message.hasName() ? message.getName() : null);
+        request.setDescription(message.hasDescription() ? message.getDescription() : null);
+        request.setPrice(message.hasPrice() ? message.getPrice() : null);
+        request.setQuantity(message.hasQuantity() ? message.getQuantity() : null);
+        return request;
+    }
+}
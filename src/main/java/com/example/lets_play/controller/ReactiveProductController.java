@@ -0,0 +1,170 @@
+package com.example.lets_play.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.example.lets_play.dto.ProductBatchGetResponse;
+import com.example.lets_play.dto.ProductCreateRequest;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductUpdateRequest;
+import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.dto.QuantityAdjustRequest;
+import com.example.lets_play.dto.QuantityResponse;
+import com.example.lets_play.model.User;
+import com.example.lets_play.service.ReactiveProductService;
+
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link ProductController} for the reactive serving mode: same paths, parameters, DTOs,
+ * ETags and status codes, with handlers returning {@link Mono}/{@link Flux} from {@link ReactiveProductService}.
+ * <ul>
+ *   <li>GET /products (page/size or keyset), GET /products?ids=, GET /products/{id}: public.</li>
+ *   <li>GET /products/export: authenticated; NDJSON, written as the cursor delivers (with backpressure).</li>
+ *   <li>POST /products: USER role only. PUT and DELETE /products/{id}, POST /products/{id}/quantity:adjust: owner or
+ *       admin.</li>
+ * </ul>
+ * Not served in this mode: POST /products/quantity:adjust, /products:bulk, /products:import and
+ * /products:batchGet (use GET /products?ids=).
+ * Setup: none; only active in the reactive serving mode.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/products")
+public class ReactiveProductController {
+
+    @Autowired
+    private ReactiveProductService productService;
+
+    @Autowired
+    private RequestedContentTypeResolver contentTypeResolver;
+
+    /** As {@link ProductController#listProducts}. */
+    @GetMapping
+    public Mono<ResponseEntity<ProductsResponse>> listProducts(
+            @RequestParam(required = false) String userId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "true") boolean includeTotal,
+            ServerWebExchange exchange) {
+        MediaType format = negotiate(exchange);
+        Mono<ProductsResponse> response;
+        if (after != null) {
+            response = productService.listProductsAfter(userId, after, size);
+        } else if (cursor != null) {
+            response = productService.listProductsAfter(userId, productService.decodeCursor(cursor), size);
+        } else {
+            response = productService.listProducts(userId, page, size, includeTotal);
+        }
+        return response.map(body -> ResponseEntity.ok().eTag(ProductETags.of(body, format)).body(body));
+    }
+
+    /** Get up to 100 products by id in one query, in request order with not-found markers. Public. */
+    @GetMapping(params = "ids")
+    public Mono<ProductBatchGetResponse> getProductsByIds(@RequestParam List<String> ids) {
+        return productService.getProductsByIds(ids);
+    }
+
+    /** As {@link ProductController#exportProducts}; the cursor advances only as fast as the client reads. */
+    @GetMapping(value = "/export", produces = ProductController.NDJSON)
+    @PreAuthorize("isAuthenticated()")
+    public Flux<ProductResponse> exportProducts(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String after) {
+        return productService.streamProducts(userId, after);
+    }
+
+    /** Create a product owned by the current user. USER role only. Returns 201. */
+    @PostMapping
+    @PreAuthorize("hasRole('USER')")
+    public Mono<ResponseEntity<ProductResponse>> createProduct(
+            @Valid @RequestBody ProductCreateRequest request,
+            @AuthenticationPrincipal User currentUser,
+            ServerWebExchange exchange) {
+        MediaType format = negotiate(exchange);
+        return productService.createProduct(request, currentUser)
+                .map(body -> ResponseEntity.status(HttpStatus.CREATED).eTag(ProductETags.of(body, format)).body(body));
+    }
+
+    /** Get product by id. Public. Returns 304 when {@code If-None-Match} matches the current ETag. */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProductResponse>> getProductById(
+            @PathVariable String id,
+            ServerWebExchange exchange) {
+        MediaType format = negotiate(exchange);
+        return productService.getProductById(id)
+                .map(body -> ResponseEntity.ok().eTag(ProductETags.of(body, format)).body(body));
+    }
+
+    /** As {@link ProductController#updateProduct}. */
+    @PutMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ResponseEntity<ProductResponse>> updateProduct(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ProductUpdateRequest request,
+            @AuthenticationPrincipal User currentUser,
+            ServerWebExchange exchange) {
+        MediaType format = negotiate(exchange);
+        return productService.updateProduct(id, request, currentUser, ProductETags.parseIfMatch(ifMatch))
+                .map(body -> ResponseEntity.ok().eTag(ProductETags.of(body, format)).body(body));
+    }
+
+    /** Atomically add a signed delta to the product's quantity. Owner or admin only; 409 if stock is insufficient. */
+    @PostMapping("/{id}/quantity:adjust")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<QuantityResponse> adjustQuantity(
+            @PathVariable String id,
+            @Valid @RequestBody QuantityAdjustRequest request,
+            @AuthenticationPrincipal User currentUser) {
+        return productService.adjustQuantity(id, request.getDelta(), currentUser);
+    }
+
+    /** Delete product. Owner or admin only. Returns 204. With {@code If-Match}, 412 unless the version matches. */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("isAuthenticated()")
+    public Mono<ResponseEntity<Void>> deleteProduct(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal User currentUser) {
+        return productService.deleteProduct(id, currentUser, ProductETags.parseIfMatch(ifMatch))
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+
+    /**
+     * The body format the encoders will pick for this request's {@code Accept}, so each format gets its own ETag.
+     * JSON when none is supported: the encoders then reject the request with 406 and the tag is never sent.
+     */
+    private MediaType negotiate(ServerWebExchange exchange) {
+        try {
+            return ProductBodyWriter.negotiate(contentTypeResolver.resolveMediaTypes(exchange));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+    }
+}
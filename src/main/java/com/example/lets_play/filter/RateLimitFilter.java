@@ -0,0 +1,157 @@
+package com.example.lets_play.filter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.lets_play.model.User;
+import com.example.lets_play.service.TokenAuthenticationCache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Token-bucket rate limiting for /api/**, applied per client IP and, when the caller's bearer token is already in
+ * {@link TokenAuthenticationCache}, per authenticated user id. Requests are classified into three budgets:
+ * <ul>
+ *   <li>auth: /api/auth/** (per IP only; slows down credential stuffing)</li>
+ *   <li>read: GET/HEAD /api/products and /api/products/*, POST /api/products:batchGet (public catalog)</li>
+ *   <li>write: every other /api call</li>
+ * </ul>
+ * Rejections return 429 with {@code Retry-After} and the standard {@link com.example.lets_play.dto.Error} body, written
+ * from a pre-built buffer; no database access or token verification happens on this path. Buckets live in a
+ * {@link RateLimiter} (striped, lock-free, capped at {@code rate-limit.max-keys}) and idle ones are evicted periodically.
+ * <p>
+ * Setup: registered in {@link com.example.lets_play.config.SecurityConfig#securityFilterChain} before
+ * {@link JwtAuthenticationFilter}. Budgets: {@code rate-limit.{auth,read,write}.per-minute} and {@code .burst};
+ * {@code rate-limit.enabled} turns it off. Client IP is {@link HttpServletRequest#getRemoteAddr()}; behind a proxy,
+ * set {@code server.forward-headers-strategy} so it reflects the real client.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"message\":\"Too many requests\",\"status\":429}".getBytes(StandardCharsets.UTF_8);
+
+    private final RateLimiter limiter;
+    private final RateLimiter.Limit authLimit;
+    private final RateLimiter.Limit readLimit;
+    private final RateLimiter.Limit writeLimit;
+    private final boolean enabled;
+
+    @Autowired
+    private TokenAuthenticationCache tokenCache;
+
+    public RateLimitFilter(
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.stripes:64}") int stripes,
+            @Value("${rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${rate-limit.auth.per-minute:30}") long authPerMinute,
+            @Value("${rate-limit.auth.burst:10}") long authBurst,
+            @Value("${rate-limit.read.per-minute:1200}") long readPerMinute,
+            @Value("${rate-limit.read.burst:200}") long readBurst,
+            @Value("${rate-limit.write.per-minute:300}") long writePerMinute,
+            @Value("${rate-limit.write.burst:60}") long writeBurst) {
+        this.enabled = enabled;
+        this.limiter = new RateLimiter(stripes, maxKeys);
+        this.authLimit = new RateLimiter.Limit(authPerMinute, authBurst);
+        this.readLimit = new RateLimiter.Limit(readPerMinute, readBurst);
+        this.writeLimit = new RateLimiter.Limit(writePerMinute, writeBurst);
+    }
+
+    /** Only /api/** is limited; CORS preflights are never counted. */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    /** Takes a token from the IP bucket (and the user bucket when known) for the request's budget; 429 if empty. */
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        char category;
+        RateLimiter.Limit limit;
+        if (uri.startsWith("/api/auth/")) {
+            category = 'a';
+            limit = authLimit;
+        } else if (isProductRead(request.getMethod(), uri)) {
+            category = 'r';
+            limit = readLimit;
+        } else {
+            category = 'w';
+            limit = writeLimit;
+        }
+
+        long wait = limiter.tryAcquire(category + "|ip|" + request.getRemoteAddr(), limit);
+        if (wait == 0 && category != 'a') {
+            Optional<String> userId = cachedUserId(request);
+            if (userId.isPresent()) {
+                wait = limiter.tryAcquire(category + "|user|" + userId.get(), limit);
+            }
+        }
+
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /** Evicts idle buckets so memory tracks active clients only. */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:30000}")
+    public void evictIdleBuckets() {
+        limiter.evictIdle();
+    }
+
+    private static boolean isProductRead(String method, String uri) {
+        if ("POST".equals(method) && uri.equals("/api/products:batchGet")) {
+            return true;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        return uri.equals("/api/products")
+                || (uri.startsWith("/api/products/") && uri.indexOf('/', "/api/products/".length()) < 0);
+    }
+
+    /** User id of an already verified (cached) bearer token; never verifies or loads anything. */
+    private Optional<String> cachedUserId(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Optional.empty();
+        }
+        return tokenCache.get(authHeader.substring("Bearer ".length()).trim())
+                .map(Authentication::getPrincipal)
+                .filter(User.class::isInstance)
+                .map(principal -> ((User) principal).getId());
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS_BODY.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS_BODY);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.lets_play.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, memory-bounded token-bucket limiter used by {@link RateLimitFilter}.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the GCRA "theoretical arrival time" (TAT), which is equivalent
+ * to a token bucket of {@code burst} tokens refilled at {@code perMinute}: a request is admitted if the TAT is at most
+ * {@code (burst - 1)} emission intervals ahead of now, and admission advances it by one interval (CAS loop, no locks).
+ * A bucket whose TAT is in the past is full, so it can be dropped without changing any decision; that is what
+ * idle eviction removes.
+ * <p>
+ * Buckets are spread over {@code stripes} independent maps, each holding at most {@code maxKeys / stripes} entries.
+ * When a stripe is full and a sweep frees nothing, new keys share the limit's overflow bucket, so a flood of distinct
+ * client addresses is throttled collectively instead of growing the heap.
+ */
+public class RateLimiter {
+
+    /** Budget of one request category (e.g. auth, reads, writes). */
+    public static final class Limit {
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final AtomicLong overflow = new AtomicLong();
+
+        public Limit(long perMinute, long burst) {
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+            this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        }
+    }
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Stripe[] stripes;
+    private final long maxKeysPerStripe;
+    private final long originNanos = System.nanoTime();
+
+    public RateLimiter(int stripes, long maxKeys) {
+        int count = Integer.highestOneBit(Math.max(1, stripes));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.maxKeysPerStripe = Math.max(1, maxKeys / count);
+    }
+
+    /**
+     * Takes one token for {@code key} under {@code limit}.
+     *
+     * @return 0 if admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long now = now();
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        AtomicLong bucket = stripe.buckets.get(key);
+        if (bucket == null) {
+            bucket = stripe.admit(key, now, maxKeysPerStripe);
+            if (bucket == null) {
+                bucket = limit.overflow;
+            }
+        }
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long wait = start - now - limit.toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, start + limit.intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Drops all full (idle) buckets. Cheap enough to run periodically. */
+    public void evictIdle() {
+        long now = now();
+        for (Stripe stripe : stripes) {
+            stripe.sweep(now);
+        }
+    }
+
+    /** Number of tracked buckets (approximate under concurrency). */
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.mappingCount();
+        }
+        return size;
+    }
+
+    /** Monotonic clock relative to construction, so a fresh bucket (TAT 0) is always full. */
+    private long now() {
+        return System.nanoTime() - originNanos;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong lastSweep = new AtomicLong(Long.MIN_VALUE / 2);
+
+        /** Creates a bucket for a new key, sweeping at most once per second when full; null if there is no room. */
+        AtomicLong admit(String key, long now, long capacity) {
+            if (buckets.mappingCount() >= capacity) {
+                long last = lastSweep.get();
+                if (now - last < SWEEP_INTERVAL_NANOS || !lastSweep.compareAndSet(last, now)) {
+                    return null;
+                }
+                sweep(now);
+                if (buckets.mappingCount() >= capacity) {
+                    return null;
+                }
+            }
+            return buckets.computeIfAbsent(key, k -> new AtomicLong());
+        }
+
+        void sweep(long now) {
+            buckets.values().removeIf(bucket -> bucket.get() <= now);
+        }
+    }
+}
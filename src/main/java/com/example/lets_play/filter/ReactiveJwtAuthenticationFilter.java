@@ -0,0 +1,79 @@
+package com.example.lets_play.filter;
+
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.example.lets_play.repository.ReactiveUserRepository;
+import com.example.lets_play.service.SecurityService;
+import com.example.lets_play.service.UserDirectory;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link JwtAuthenticationFilter}: authenticates the caller from the
+ * {@code Authorization: Bearer <token>} header and puts the {@link Authentication} in the Reactor context, where
+ * {@code @PreAuthorize} and {@code @AuthenticationPrincipal} find it.
+ * <p>
+ * Token checks run in memory (signature, token cache, user directory). The one step that can touch MongoDB, loading a
+ * user missing from the {@link UserDirectory}, goes through {@link ReactiveUserRepository} so no event-loop thread
+ * blocks; the loaded user is put in the directory and validation then completes from memory.
+ * <p>
+ * Setup: not a bean of its own; {@link com.example.lets_play.config.ReactiveSecurityConfig} adds it to the chain at
+ * the authentication position.
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private final SecurityService securityService;
+    private final UserDirectory userDirectory;
+    private final ReactiveUserRepository reactiveUsers;
+
+    public ReactiveJwtAuthenticationFilter(
+            SecurityService securityService,
+            UserDirectory userDirectory,
+            ReactiveUserRepository reactiveUsers) {
+        this.securityService = securityService;
+        this.userDirectory = userDirectory;
+        this.reactiveUsers = reactiveUsers;
+    }
+
+    /** Authenticates the request if it carries a valid Bearer token, then continues the chain either way. */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String token = extractBearerToken(exchange);
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+        return authenticate(token).flatMap(auth -> auth.isPresent()
+                ? chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth.get()))
+                : chain.filter(exchange));
+    }
+
+    /** {@link SecurityService#getAuthentication}, after loading the token's user without blocking if needed. */
+    private Mono<Optional<Authentication>> authenticate(String token) {
+        Optional<String> userToLoad = securityService.userToLoad(token);
+        if (userToLoad.isEmpty()) {
+            return Mono.fromSupplier(() -> securityService.getAuthentication(token));
+        }
+        return reactiveUsers.findById(userToLoad.get())
+                .map(user -> {
+                    userDirectory.put(user);
+                    return securityService.getAuthentication(token);
+                })
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    /** Returns the value after {@code "Bearer "} in the Authorization header, or null if missing or not Bearer. */
+    private String extractBearerToken(ServerWebExchange exchange) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        return authHeader.substring("Bearer ".length()).trim();
+    }
+}
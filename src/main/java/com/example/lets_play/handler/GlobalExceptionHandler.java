@@ -1,12 +1,17 @@
 package com.example.lets_play.handler;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -20,13 +25,17 @@ import com.example.lets_play.dto.Error;
  * appropriate HTTP status codes, as defined in the OpenAPI spec.
  * <p>
  * Setup: none. As a {@link org.springframework.web.bind.annotation.RestControllerAdvice}, it applies automatically
- * to all controllers; no registration required.
+ * to all controllers, MVC and WebFlux alike; no registration required. WebFlux-specific request errors are mapped to
+ * the same responses by {@link ReactiveExceptionHandler}.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    @Value("${security.password-hashing.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
     /**
      * Handles failed authentication (e.g. invalid email or password on signin).
      * Returns 401 Unauthorized.
@@ -60,11 +69,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Error> handleValidation(MethodArgumentNotValidException e) {
-        String message = e.getBindingResult().getFieldErrors().stream()
-                .map(err -> err.getField() + ": " + err.getDefaultMessage())
-                .reduce((a, b) -> a + "; " + b)
-                .orElse("Validation failed");
-        return error(HttpStatus.BAD_REQUEST, message);
+        return error(HttpStatus.BAD_REQUEST, validationMessage(e.getBindingResult()));
     }
 
     /**
@@ -86,6 +91,19 @@ public class GlobalExceptionHandler {
         return error(status, e.getReason() != null ? e.getReason() : status.getReasonPhrase());
     }
 
+    /**
+     * Handles saturation of a bounded executor (e.g. the password hashing lane during a signin burst).
+     * Returns 503 Service Unavailable with {@code Retry-After} so clients back off instead of queueing.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Error> handleRejected(RejectedExecutionException e) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity
+                .status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new Error("Server busy, please retry later", status.value()));
+    }
+
     /**
      * Catch-all for any exception not handled above (undocumented or unexpected).
      * Returns 404 so the API avoids 5xx per project spec; full exception is logged for debugging.
@@ -96,8 +114,16 @@ public class GlobalExceptionHandler {
         return error(HttpStatus.NOT_FOUND, "Resource not found");
     }
 
+    /** All field errors as {@code field: message}, separated by {@code "; "}. */
+    static String validationMessage(BindingResult bindingResult) {
+        return bindingResult.getFieldErrors().stream()
+                .map(err -> err.getField() + ": " + err.getDefaultMessage())
+                .reduce((a, b) -> a + "; " + b)
+                .orElse("Validation failed");
+    }
+
     /** Builds a response with the standard {@link Error} body (message and status code). */
-    private static ResponseEntity<Error> error(HttpStatus status, String message) {
+    static ResponseEntity<Error> error(HttpStatus status, String message) {
         return ResponseEntity
                 .status(status)
                 .body(new Error(message, status.value()));
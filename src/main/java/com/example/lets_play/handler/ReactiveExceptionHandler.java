@@ -0,0 +1,48 @@
+package com.example.lets_play.handler;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import com.example.lets_play.dto.Error;
+
+/**
+ * Maps the request errors WebFlux raises in place of their Spring MVC counterparts to the responses
+ * {@link GlobalExceptionHandler} gives on the servlet stack, so both serving modes answer identically.
+ * <ul>
+ *   <li>{@link WebExchangeBindException} (failed {@code @Valid} body), as {@code MethodArgumentNotValidException}:
+ *       400 with the field errors.</li>
+ *   <li>{@link ServerWebInputException} caused by an unreadable body, as {@code HttpMessageNotReadableException}:
+ *       400. Other input errors (missing or mistyped parameters) fall to the catch-all on MVC: 404.</li>
+ * </ul>
+ * Both exceptions extend {@code ResponseStatusException}, so this advice must run before
+ * {@link GlobalExceptionHandler}.
+ * <p>
+ * Setup: none; only active in the reactive serving mode.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Error> handleValidation(WebExchangeBindException e) {
+        return GlobalExceptionHandler.error(HttpStatus.BAD_REQUEST,
+                GlobalExceptionHandler.validationMessage(e.getBindingResult()));
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Error> handleInput(ServerWebInputException e) {
+        if (e.getCause() instanceof DecodingException) {
+            return GlobalExceptionHandler.error(HttpStatus.BAD_REQUEST, "Malformed JSON or invalid request body");
+        }
+        return GlobalExceptionHandler.error(HttpStatus.NOT_FOUND, "Resource not found");
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.lets_play.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Cascade-delete job for a deleted user, stored in MongoDB collection {@code deletion_jobs}. Id is the deleted user's
+ * id. While {@code PENDING}, the user's products are hidden from reads and removed in batches by
+ * {@link com.example.lets_play.service.UserDeletionService}; the persisted progress and lease make it resumable after
+ * a restart or on another instance. Finished jobs are kept as an audit record.
+ */
+@Document(collection = "deletion_jobs")
+public class DeletionJob {
+
+    /** PENDING until every product of the user is removed, then DONE. */
+    public enum Status { PENDING, DONE }
+
+    @Id
+    private String id;
+
+    /** Email of the deleted user, for admins reading the job list. */
+    private String email;
+    private Status status;
+    private long deletedProducts;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+    /** Epoch millis until which the instance that claimed the job owns it; 0 when unclaimed. */
+    private long leaseUntil;
+
+    public DeletionJob() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getDeletedProducts() {
+        return deletedProducts;
+    }
+
+    public void setDeletedProducts(long deletedProducts) {
+        this.deletedProducts = deletedProducts;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public long getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(long leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+}
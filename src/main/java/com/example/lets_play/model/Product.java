@@ -1,11 +1,13 @@
 package com.example.lets_play.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * Product entity stored in MongoDB collection {@code products}.
  * Id is MongoDB ObjectId. {@code userId} is the owner's user id (products are cascade-deleted when that user is deleted).
+ * {@code version} is incremented on every write; it backs product ETags and conditional (If-Match) updates.
  */
 @Document(collection = "products")
 public class Product {
@@ -19,7 +21,11 @@ public class Product {
     private int quantity;
     /** Owner's user id (MongoDB ObjectId). */
     private String userId;
-    
+
+    /** Optimistic-locking version; saves are conditional on it. */
+    @Version
+    private Long version;
+
     public Product() {
     }
 
@@ -70,4 +76,12 @@ public class Product {
     public void setUserId(String userId) {
         this.userId = userId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -7,6 +7,8 @@ import org.springframework.data.mongodb.core.mapping.Document;
 /**
  * User entity stored in MongoDB collection {@code users}.
  * Id is MongoDB ObjectId (24-char hex). Email is unique. Password is stored BCrypt-hashed; never exposed in API responses.
+ * {@code tokenVersion} is bumped whenever email, role or password changes; it is embedded in issued JWTs so stateless
+ * authentication can reject tokens issued before the change.
  */
 @Document(collection = "users")
 public class User {
@@ -20,6 +22,8 @@ public class User {
     private String email;
     private String password;
     private Role role;
+    /** Incremented on email, role or password change; tokens carrying an older value are rejected. */
+    private long tokenVersion;
 
     /** User role: USER (normal) or ADMIN. */
     public enum Role { USER, ADMIN }
@@ -66,4 +70,12 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+
+    public long getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(long tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
 }
@@ -0,0 +1,23 @@
+package com.example.lets_play.model;
+
+/**
+ * Immutable, password-free view of a {@link User} held by the in-process user directory.
+ * Safe to share between threads and requests; use {@link #toUser()} where a {@link User} principal is expected.
+ */
+public record UserSnapshot(String id, String name, String email, User.Role role) {
+
+    /** Snapshot of the given entity's current state (password is not copied). */
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
+
+    /** Detached {@link User} with the snapshot's fields and no password. */
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        return user;
+    }
+}
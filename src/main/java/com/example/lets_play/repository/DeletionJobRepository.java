@@ -0,0 +1,19 @@
+package com.example.lets_play.repository;
+
+import java.util.List;
+
+import com.example.lets_play.model.DeletionJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * MongoDB repository for {@link DeletionJob}. Id is the deleted user's id.
+ * Setup: none; Spring Data provides the implementation when MongoDB is configured.
+ */
+public interface DeletionJobRepository extends MongoRepository<DeletionJob, String> {
+
+    /** Jobs in the given state (e.g. PENDING, to know which owners' products to hide). */
+    List<DeletionJob> findByStatus(DeletionJob.Status status);
+
+    /** All jobs, newest first. */
+    List<DeletionJob> findAllByOrderByCreatedAtDesc();
+}
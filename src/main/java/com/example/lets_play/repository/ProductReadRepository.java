@@ -0,0 +1,169 @@
+package com.example.lets_play.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.bson.Document;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.lets_play.dto.ProductField;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.model.Product;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+
+/**
+ * Read-only access to {@code products} that returns {@link ProductResponse} directly: queries project only the API
+ * fields and results are decoded by {@link ProductResponseCodec}, bypassing the entity mapping of
+ * {@link ProductRepository}. Writes still go through {@link ProductRepository}.
+ * <p>
+ * Setup: none; uses the application's {@link MongoTemplate}.
+ */
+@Repository
+public class ProductReadRepository {
+
+    static final Bson PROJECTION = Projections.include(
+            "name", "description", "price", "quantity", "userId", "version");
+    static final Bson OWNER_ONLY = Projections.include("userId");
+    static final Bson ID_ASC = Sorts.ascending("_id");
+
+    private final MongoCollection<ProductResponse> collection;
+
+    public ProductReadRepository(MongoTemplate mongoTemplate) {
+        MongoCollection<Document> products = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class));
+        this.collection = products
+                .withDocumentClass(ProductResponse.class)
+                .withCodecRegistry(CodecRegistries.fromRegistries(
+                        CodecRegistries.fromCodecs(new ProductResponseCodec()),
+                        products.getCodecRegistry()));
+    }
+
+    /** Product by id; empty if none. {@code id} must be a valid ObjectId hex string. */
+    public Optional<ProductResponse> findById(String id) {
+        return Optional.ofNullable(collection.find(Filters.eq("_id", new ObjectId(id)))
+                .projection(PROJECTION)
+                .first());
+    }
+
+    /** Product by id with only {@code id} and {@code userId} set; empty if none. Cheap existence/ownership probe. */
+    public Optional<ProductResponse> findOwner(String id) {
+        return Optional.ofNullable(collection.find(Filters.eq("_id", new ObjectId(id)))
+                .projection(OWNER_ONLY)
+                .first());
+    }
+
+    /** Products with the given ids, in no particular order; unknown ids are absent. Ids must be valid ObjectId hex. */
+    public List<ProductResponse> findByIds(Collection<String> ids) {
+        List<ObjectId> objectIds = ids.stream().map(ObjectId::new).toList();
+        return collection.find(Filters.in("_id", objectIds))
+                .projection(PROJECTION)
+                .into(new ArrayList<>(objectIds.size()));
+    }
+
+    /**
+     * Offset page in natural order, of one owner or of all owners except {@code hiddenOwners}. Reads {@code limit}
+     * documents and hands each to {@code action} as it is decoded from the cursor, so no page list is built; callers
+     * ask for one more than the page size to learn whether another page follows. Only {@code fields} are read (see
+     * {@link #projection}); the other properties are left unset.
+     */
+    public void findPage(
+            String userId,
+            Collection<String> hiddenOwners,
+            long skip,
+            int limit,
+            Set<ProductField> fields,
+            Consumer<? super ProductResponse> action) {
+        collection.find(ownerFilter(userId, hiddenOwners))
+                .projection(projection(fields))
+                .skip(Math.toIntExact(skip))
+                .limit(limit)
+                .forEach(action);
+    }
+
+    /** Keyset page in id order: products with id greater than {@code afterId}, otherwise as {@link #findPage}. */
+    public void findAfter(
+            String userId,
+            Collection<String> hiddenOwners,
+            String afterId,
+            int limit,
+            Set<ProductField> fields,
+            Consumer<? super ProductResponse> action) {
+        collection.find(afterFilter(userId, hiddenOwners, afterId))
+                .projection(projection(fields))
+                .sort(ID_ASC)
+                .limit(limit)
+                .forEach(action);
+    }
+
+    /**
+     * All products after {@code afterId} in id order, filtered as in {@link #findPage}, as a lazily consumed stream
+     * over one server cursor fetching {@code batchSize} documents at a time. Memory use does not depend on how many
+     * products match. The caller must close the stream (it closes the cursor).
+     */
+    public Stream<ProductResponse> streamAfter(
+            String userId,
+            Collection<String> hiddenOwners,
+            String afterId,
+            int batchSize) {
+        MongoCursor<ProductResponse> cursor = collection.find(afterFilter(userId, hiddenOwners, afterId))
+                .projection(PROJECTION)
+                .sort(ID_ASC)
+                .batchSize(batchSize)
+                .iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    /** Number of products of all owners except {@code hiddenOwners}. */
+    public long count(Collection<String> hiddenOwners) {
+        return collection.countDocuments(ownerFilter(null, hiddenOwners));
+    }
+
+    /**
+     * {@link #PROJECTION} narrowed to {@code fields}. {@code _id} and {@code version} are read whatever is selected:
+     * page ETags and cursors are built from them, and they are small next to {@code description}.
+     */
+    static Bson projection(Set<ProductField> fields) {
+        if (fields.containsAll(ProductField.ALL)) {
+            return PROJECTION;
+        }
+        List<String> names = new ArrayList<>(fields.size() + 1);
+        for (ProductField field : fields) {
+            if (field != ProductField.ID) {
+                names.add(field.getDocumentField());
+            }
+        }
+        names.add("version");
+        return Projections.include(names);
+    }
+
+    static Bson afterFilter(String userId, Collection<String> hiddenOwners, String afterId) {
+        Bson afterFilter = Filters.gt("_id", new ObjectId(afterId));
+        Bson ownerFilter = ownerFilter(userId, hiddenOwners);
+        return ownerFilter instanceof Document doc && doc.isEmpty()
+                ? afterFilter
+                : Filters.and(ownerFilter, afterFilter);
+    }
+
+    static Bson ownerFilter(String userId, Collection<String> hiddenOwners) {
+        if (userId != null) {
+            return Filters.eq("userId", userId);
+        }
+        return hiddenOwners.isEmpty() ? new Document() : Filters.nin("userId", hiddenOwners);
+    }
+}
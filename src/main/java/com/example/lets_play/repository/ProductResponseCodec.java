@@ -0,0 +1,102 @@
+package com.example.lets_play.repository;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+
+import com.example.lets_play.dto.ProductResponse;
+
+/**
+ * Decodes a {@code products} document straight from the BSON stream into a {@link ProductResponse}, without building
+ * an intermediate {@link org.bson.Document} or {@link com.example.lets_play.model.Product} entity. Unknown fields
+ * (e.g. {@code _class}) and fields left out by a projection are skipped. Numeric fields accept any BSON number type; a missing {@code version} reads as 0.
+ * <p>
+ * Encoding writes the same field layout; it exists because the driver's codec registry requires a full {@link Codec}.
+ */
+public class ProductResponseCodec implements Codec<ProductResponse> {
+
+    @Override
+    public ProductResponse decode(BsonReader reader, DecoderContext decoderContext) {
+        ProductResponse product = new ProductResponse();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String field = reader.readName();
+            BsonType type = reader.getCurrentBsonType();
+            if (type == BsonType.NULL) {
+                reader.readNull();
+                continue;
+            }
+            switch (field) {
+                case "_id" -> product.setId(type == BsonType.OBJECT_ID
+                        ? reader.readObjectId().toHexString()
+                        : reader.readString());
+                case "name" -> product.setName(reader.readString());
+                case "description" -> product.setDescription(reader.readString());
+                case "price" -> product.setPrice(readDouble(reader, type));
+                case "quantity" -> product.setQuantity((int) readLong(reader, type));
+                case "userId" -> product.setUserId(type == BsonType.OBJECT_ID
+                        ? reader.readObjectId().toHexString()
+                        : reader.readString());
+                case "version" -> product.setVersion(readLong(reader, type));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return product;
+    }
+
+    @Override
+    public void encode(BsonWriter writer, ProductResponse value, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        if (value.getId() != null) {
+            writer.writeObjectId("_id", new ObjectId(value.getId()));
+        }
+        writeString(writer, "name", value.getName());
+        writeString(writer, "description", value.getDescription());
+        writer.writeDouble("price", value.getPrice());
+        writer.writeInt32("quantity", value.getQuantity());
+        writeString(writer, "userId", value.getUserId());
+        writer.writeInt64("version", value.getVersion());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Class<ProductResponse> getEncoderClass() {
+        return ProductResponse.class;
+    }
+
+    private static double readDouble(BsonReader reader, BsonType type) {
+        return switch (type) {
+            case DOUBLE -> reader.readDouble();
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DECIMAL128 -> reader.readDecimal128().doubleValue();
+            default -> {
+                reader.skipValue();
+                yield 0;
+            }
+        };
+    }
+
+    private static long readLong(BsonReader reader, BsonType type) {
+        return switch (type) {
+            case INT32 -> reader.readInt32();
+            case INT64 -> reader.readInt64();
+            case DOUBLE -> (long) reader.readDouble();
+            default -> {
+                reader.skipValue();
+                yield 0;
+            }
+        };
+    }
+
+    private static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+}
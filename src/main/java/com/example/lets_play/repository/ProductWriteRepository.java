@@ -0,0 +1,116 @@
+package com.example.lets_play.repository;
+
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.example.lets_play.model.Product;
+
+/**
+ * Single-round-trip conditional writes on {@code products} that {@link ProductRepository} cannot express: the access
+ * and version checks are part of the filter, so a write either applies atomically or matches nothing. A miss does not
+ * say why; callers probe afterwards to pick the error.
+ * <p>
+ * Setup: none; uses the application's {@link MongoTemplate}.
+ */
+@Repository
+public class ProductWriteRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ProductWriteRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Applies {@code update} plus a version increment to the product, returning the post-image, or null if nothing
+     * matched. {@code ownerId} (null for admins) and {@code expectedVersion} (null for unconditional) narrow the filter.
+     */
+    public Product findAndUpdate(String id, String ownerId, Long expectedVersion, Update update) {
+        return mongoTemplate.findAndModify(
+                Query.query(match(id, ownerId, expectedVersion)),
+                update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Product.class);
+    }
+
+    /**
+     * Removes the product in one {@code findAndModify} with {@code remove}, filtered like {@link #findAndUpdate}.
+     * Returns the removed document's owner ({@code userId} only), or null if nothing matched.
+     */
+    public Product findAndRemove(String id, String ownerId, Long expectedVersion) {
+        Query query = Query.query(match(id, ownerId, expectedVersion));
+        query.fields().include("userId");
+        return mongoTemplate.findAndRemove(query, Product.class);
+    }
+
+    /**
+     * Adds {@code delta} to the product's quantity in one guarded {@code $inc}: the filter requires enough stock for a
+     * decrement (the result is never negative) and headroom below {@link Integer#MAX_VALUE} for an increment.
+     * Returns the post-image (quantity and owner only), or null if nothing matched.
+     */
+    public Product adjustQuantity(String id, String ownerId, int delta) {
+        return mongoTemplate.findAndModify(
+                adjustQuantityQuery(id, ownerId, delta),
+                new Update().inc("quantity", delta).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Product.class);
+    }
+
+    /** Unconditionally adds {@code delta} to the quantity (used to undo an applied adjustment). */
+    public void incrementQuantity(String id, int delta) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(id)),
+                new Update().inc("quantity", delta).inc("version", 1),
+                Product.class);
+    }
+
+    /**
+     * Removes up to {@code limit} products of one owner: reads their ids through the {@code userId_1__id_1} index,
+     * then deletes exactly those. Keeps each delete bounded however large the catalog. Returns the number removed.
+     */
+    public long deleteBatchByOwner(String userId, int limit) {
+        String collectionName = mongoTemplate.getCollectionName(Product.class);
+        Query idsQuery = Query.query(Criteria.where("userId").is(userId)).limit(limit);
+        idsQuery.fields().include("_id");
+        List<Object> ids = mongoTemplate.find(idsQuery, Document.class, collectionName).stream()
+                .map(document -> document.get("_id"))
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return mongoTemplate.remove(
+                Query.query(Criteria.where("_id").in(ids).and("userId").is(userId)),
+                collectionName).getDeletedCount();
+    }
+
+    /** Filter of a guarded quantity adjustment (see {@link #adjustQuantity}), projecting quantity and owner. */
+    static Query adjustQuantityQuery(String id, String ownerId, int delta) {
+        Criteria criteria = match(id, ownerId, null);
+        if (delta < 0) {
+            criteria = criteria.and("quantity").gte(-delta);
+        } else if (delta > 0) {
+            criteria = criteria.and("quantity").lte(Integer.MAX_VALUE - delta);
+        }
+        Query query = Query.query(criteria);
+        query.fields().include("quantity", "userId");
+        return query;
+    }
+
+    static Criteria match(String id, String ownerId, Long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (ownerId != null) {
+            criteria = criteria.and("userId").is(ownerId);
+        }
+        if (expectedVersion != null) {
+            criteria = criteria.and("version").is(expectedVersion);
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.lets_play.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.model.Product;
+import com.mongodb.client.model.Filters;
+import com.mongodb.reactivestreams.client.MongoCollection;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ProductReadRepository} on the reactive driver: the same projected queries,
+ * decoded by the same {@link ProductResponseCodec}, returned as {@link Mono}/{@link Flux}.
+ * <p>
+ * Setup: none; uses the application's {@link ReactiveMongoTemplate}. Only active in the reactive serving mode.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductReadRepository {
+
+    private final Mono<MongoCollection<ProductResponse>> collection;
+
+    public ReactiveProductReadRepository(ReactiveMongoTemplate mongoTemplate) {
+        this.collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class))
+                .map(products -> products
+                        .withDocumentClass(ProductResponse.class)
+                        .withCodecRegistry(CodecRegistries.fromRegistries(
+                                CodecRegistries.fromCodecs(new ProductResponseCodec()),
+                                products.getCodecRegistry())))
+                .cache();
+    }
+
+    /** Product by id; empty if none. {@code id} must be a valid ObjectId hex string. */
+    public Mono<ProductResponse> findById(String id) {
+        return collection.flatMap(products -> Mono.from(products.find(Filters.eq("_id", new ObjectId(id)))
+                .projection(ProductReadRepository.PROJECTION)
+                .first()));
+    }
+
+    /** Product by id with only {@code id} and {@code userId} set; empty if none. */
+    public Mono<ProductResponse> findOwner(String id) {
+        return collection.flatMap(products -> Mono.from(products.find(Filters.eq("_id", new ObjectId(id)))
+                .projection(ProductReadRepository.OWNER_ONLY)
+                .first()));
+    }
+
+    /** Products with the given ids, in no particular order; unknown ids are absent. Ids must be valid ObjectId hex. */
+    public Flux<ProductResponse> findByIds(Collection<String> ids) {
+        List<ObjectId> objectIds = ids.stream().map(ObjectId::new).toList();
+        return collection.flatMapMany(products -> products.find(Filters.in("_id", objectIds))
+                .projection(ProductReadRepository.PROJECTION));
+    }
+
+    /** Offset page, as {@link ProductReadRepository#findPage}. */
+    public Flux<ProductResponse> findPage(String userId, Collection<String> hiddenOwners, long skip, int limit) {
+        return collection.flatMapMany(products -> products
+                .find(ProductReadRepository.ownerFilter(userId, hiddenOwners))
+                .projection(ProductReadRepository.PROJECTION)
+                .skip(Math.toIntExact(skip))
+                .limit(limit));
+    }
+
+    /** Keyset page in id order, as {@link ProductReadRepository#findAfter}. */
+    public Flux<ProductResponse> findAfter(String userId, Collection<String> hiddenOwners, String afterId, int limit) {
+        return collection.flatMapMany(products -> products
+                .find(ProductReadRepository.afterFilter(userId, hiddenOwners, afterId))
+                .projection(ProductReadRepository.PROJECTION)
+                .sort(ProductReadRepository.ID_ASC)
+                .limit(limit));
+    }
+
+    /**
+     * All products after {@code afterId} in id order, as {@link ProductReadRepository#streamAfter}. The cursor fetches
+     * {@code batchSize} documents at a time as the subscriber requests them and is closed on completion or cancel.
+     */
+    public Flux<ProductResponse> streamAfter(
+            String userId,
+            Collection<String> hiddenOwners,
+            String afterId,
+            int batchSize) {
+        return collection.flatMapMany(products -> products
+                .find(ProductReadRepository.afterFilter(userId, hiddenOwners, afterId))
+                .projection(ProductReadRepository.PROJECTION)
+                .sort(ProductReadRepository.ID_ASC)
+                .batchSize(batchSize));
+    }
+
+    /** Number of products of all owners except {@code hiddenOwners}. */
+    public Mono<Long> count(Collection<String> hiddenOwners) {
+        return collection.flatMap(products -> Mono.from(products.countDocuments(
+                ProductReadRepository.ownerFilter(null, hiddenOwners))));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.lets_play.repository;
+
+import com.example.lets_play.model.Product;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ProductRepository} for the reactive serving mode. Reads use
+ * {@link ReactiveProductReadRepository}, conditional writes {@link ReactiveProductWriteRepository}.
+ * Setup: none; Spring Data provides the implementation when reactive MongoDB is configured.
+ */
+public interface ReactiveProductRepository extends ReactiveMongoRepository<Product, String> {
+
+    /** Number of products owned by the given user (seeds {@link com.example.lets_play.service.ProductCountCache}). */
+    Mono<Long> countByUserId(String userId);
+}
@@ -0,0 +1,54 @@
+package com.example.lets_play.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import com.example.lets_play.model.Product;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ProductWriteRepository}: the same single-round-trip conditional writes, where a
+ * miss completes empty instead of returning null.
+ * <p>
+ * Setup: none; uses the application's {@link ReactiveMongoTemplate}. Only active in the reactive serving mode.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductWriteRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveProductWriteRepository(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /** As {@link ProductWriteRepository#findAndUpdate}; empty if nothing matched. */
+    public Mono<Product> findAndUpdate(String id, String ownerId, Long expectedVersion, Update update) {
+        return mongoTemplate.findAndModify(
+                Query.query(ProductWriteRepository.match(id, ownerId, expectedVersion)),
+                update.inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Product.class);
+    }
+
+    /** As {@link ProductWriteRepository#findAndRemove}; empty if nothing matched. */
+    public Mono<Product> findAndRemove(String id, String ownerId, Long expectedVersion) {
+        Query query = Query.query(ProductWriteRepository.match(id, ownerId, expectedVersion));
+        query.fields().include("userId");
+        return mongoTemplate.findAndRemove(query, Product.class);
+    }
+
+    /** As {@link ProductWriteRepository#adjustQuantity}; empty if nothing matched. */
+    public Mono<Product> adjustQuantity(String id, String ownerId, int delta) {
+        return mongoTemplate.findAndModify(
+                ProductWriteRepository.adjustQuantityQuery(id, ownerId, delta),
+                new Update().inc("quantity", delta).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Product.class);
+    }
+}
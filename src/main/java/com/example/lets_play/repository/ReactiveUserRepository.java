@@ -0,0 +1,12 @@
+package com.example.lets_play.repository;
+
+import com.example.lets_play.model.User;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+/**
+ * Non-blocking counterpart of {@link UserRepository}, used by the reactive JWT filter to load a user missing from
+ * the user directory without blocking an event-loop thread.
+ * Setup: none; Spring Data provides the implementation when reactive MongoDB is configured.
+ */
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, String> {
+}
@@ -2,6 +2,8 @@ package com.example.lets_play.repository;
 
 import com.example.lets_play.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 
 import java.util.Optional;
 
@@ -16,4 +18,12 @@ public interface UserRepository extends MongoRepository<User, String> {
 
     /** Returns true if a user exists with the given email. */
     boolean existsByEmail(String email);
+
+    /**
+     * Replaces the password hash only if it still equals {@code currentHash} (e.g. re-hash at a new BCrypt cost
+     * without clobbering a concurrent password change). Returns the number of documents modified.
+     */
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    long updatePasswordIfUnchanged(String id, String currentHash, String newHash);
 }
@@ -1,10 +1,17 @@
 package com.example.lets_play.service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.example.lets_play.config.ThreadingConfig;
 import com.example.lets_play.dto.AuthResponse;
 import com.example.lets_play.dto.SigninRequest;
 import com.example.lets_play.dto.SignupRequest;
@@ -13,12 +20,19 @@ import com.example.lets_play.repository.UserRepository;
 
 /**
  * Signup and signin. Signup creates a user with role USER and returns a JWT; signin validates credentials and returns a JWT.
+ * Both complete asynchronously: the BCrypt work runs on the {@link PasswordHashingService} lane, not the request
+ * thread, and everything after it (MongoDB writes, JWT signing) on {@link ThreadingConfig#AUTH_COMPLETIONS}, so lane
+ * threads only ever hash.
+ * A successful signin whose stored hash uses a different BCrypt cost than the current encoder re-hashes the password
+ * in the background and stores it if it has not changed meanwhile.
  * <p>
- * Setup: none; uses {@link JwtService} and {@link org.springframework.security.crypto.password.PasswordEncoder}.
+ * Setup: none; uses {@link JwtService} and {@link PasswordHashingService}.
  */
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -26,43 +40,81 @@ public class AuthService {
     private JwtService jwtService;
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashing;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private TokenVersionTable tokenVersions;
+
+    @Autowired
+    @Qualifier(ThreadingConfig.AUTH_COMPLETIONS)
+    private Executor completions;
 
     /**
      * Register a new user. Encodes password and issues a JWT.
      *
      * @throws IllegalStateException if email is already registered
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing lane is saturated
      */
-    public AuthResponse signup(SignupRequest request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
+    public CompletableFuture<AuthResponse> signup(SignupRequest request) {
+        String email = request.getEmail().trim().toLowerCase();
+        if (userRepository.existsByEmail(email)) {
             throw new IllegalStateException("Email already registered");
         }
 
-        User user = new User();
-        user.setName(request.getName());
-        user.setEmail(request.getEmail().trim().toLowerCase());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        user.setRole(User.Role.USER);
+        return passwordHashing.encodeAsync(request.getPassword())
+                .thenApplyAsync(hash -> {
+                    User user = new User();
+                    user.setName(request.getName());
+                    user.setEmail(email);
+                    user.setPassword(hash);
+                    user.setRole(User.Role.USER);
 
-        user = userRepository.save(user);
-        String token = jwtService.generateToken(user);
-        return new AuthResponse(token);
+                    user = userRepository.save(user);
+                    userDirectory.put(user);
+                    tokenVersions.put(user);
+                    String token = jwtService.generateToken(user);
+                    return new AuthResponse(token);
+                }, completions);
     }
 
     /**
      * Authenticate by email and password. Returns JWT on success.
      *
-     * @throws BadCredentialsException if email or password is invalid
+     * @throws BadCredentialsException if email or password is invalid (the future completes exceptionally on a wrong password)
+     * @throws java.util.concurrent.RejectedExecutionException if the hashing lane is saturated
      */
-    public AuthResponse signin(SigninRequest request) {
+    public CompletableFuture<AuthResponse> signin(SigninRequest request) {
         User user = userRepository.findByEmail(request.getEmail().trim().toLowerCase())
                 .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new BadCredentialsException("Invalid email or password");
-        }
+        return passwordHashing.matchesAsync(request.getPassword(), user.getPassword())
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        throw new BadCredentialsException("Invalid email or password");
+                    }
+                    if (passwordHashing.needsRehash(user.getPassword())) {
+                        rehash(user, request.getPassword());
+                    }
+                    String token = jwtService.generateToken(user);
+                    return new AuthResponse(token);
+                }, completions);
+    }
 
-        String token = jwtService.generateToken(user);
-        return new AuthResponse(token);
+    /** Re-hashes at the current cost off the response path; skipped when the lane is saturated (next login retries). */
+    private void rehash(User user, String rawPassword) {
+        try {
+            passwordHashing.encodeAsync(rawPassword)
+                    .thenAcceptAsync(newHash -> userRepository.updatePasswordIfUnchanged(
+                            user.getId(), user.getPassword(), newHash), completions)
+                    .exceptionally(e -> {
+                        log.warn("Password re-hash failed for user {}: {}", user.getId(), e.getMessage());
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            log.debug("Password re-hash for user {} deferred: hashing lane saturated", user.getId());
+        }
     }
 }
@@ -0,0 +1,33 @@
+package com.example.lets_play.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helpers for the async Caffeine caches whose loads run on
+ * {@link com.example.lets_play.config.ThreadingConfig#CACHE_LOADS}.
+ */
+final class CacheLoads {
+
+    private CacheLoads() {}
+
+    /** Waits for a load and returns its value, rethrowing the loader's own exception (e.g. a data access error). */
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /** The value of a finished, successful load; null if absent, still loading or failed. Never waits. */
+    static <V> V ifReady(CompletableFuture<V> future) {
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+}
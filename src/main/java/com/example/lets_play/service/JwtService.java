@@ -12,12 +12,13 @@ import org.springframework.stereotype.Service;
 import com.example.lets_play.model.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 
 /**
- * JWT creation and verification. Tokens carry subject (user id), email, role, and expiration.
+ * JWT creation and verification. Tokens carry subject (user id), email, role, tokenVersion, and expiration.
  * <p>
  * Setup: set {@code jwt.secret} (min 256 bits / 32 bytes for HS256) and {@code jwt.expiration-ms} (e.g. 86400000 for 24h).
  */
@@ -26,15 +27,20 @@ public class JwtService {
 
     private final SecretKey key;
     private final long expirationMs;
+    /** Immutable and thread-safe; built once instead of per request. */
+    private final JwtParser parser;
 
     public JwtService(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.expiration-ms}") long expirationMs) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
-    /** Builds a signed JWT with subject=user.id, claims email and role, and expiration. */
+    /** Builds a signed JWT with subject=user.id, claims email, role and tokenVersion, and expiration. */
     public String generateToken(User user) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
@@ -43,6 +49,7 @@ public class JwtService {
         .setSubject(user.getId())
         .claim("email", user.getEmail())
         .claim("role", user.getRole().name())
+        .claim("tokenVersion", user.getTokenVersion())
         .setIssuedAt(now)
         .setExpiration(expiry)
         .signWith(key, SignatureAlgorithm.HS256)
@@ -56,9 +63,7 @@ public class JwtService {
 
     /** Parses and verifies the token; returns claims body. Throws on invalid or expired token. */
     public Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
+        return parser
                 .parseClaimsJws(token)   // verifies signature, throws if invalid/expired
                 .getBody();
     }
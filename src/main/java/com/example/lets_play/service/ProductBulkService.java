@@ -0,0 +1,318 @@
+package com.example.lets_play.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.example.lets_play.dto.ProductBulkOperation;
+import com.example.lets_play.dto.ProductBulkResponse;
+import com.example.lets_play.dto.ProductBulkResult;
+import com.example.lets_play.dto.ProductCreateRequest;
+import com.example.lets_play.dto.ProductUpdateRequest;
+import com.example.lets_play.model.Product;
+import com.example.lets_play.model.User;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Executes POST /api/products:bulk: many creates, updates and deletes for the price of one request.
+ * <ol>
+ *   <li>Each operation is validated on its own with the {@link ProductCreateRequest} / {@link ProductUpdateRequest}
+ *       rules; an invalid item fails alone.</li>
+ *   <li>Ownership (and the optional expected version) of every update/delete target is checked with one query; a
+ *       product whose owner's cascade delete is pending is reported as 404, as by get-by-id.</li>
+ *   <li>All remaining operations run as one unordered {@code bulkWrite}. Updates and deletes are filtered by the version
+ *       read in step 2, so a product changed in between is not overwritten; it is reported as 409 (412 when the
+ *       caller supplied a version).</li>
+ * </ol>
+ * Results use the status codes of the single-item endpoints. Counters and the product cache are updated as for
+ * single writes.
+ * <p>
+ * Setup: none.
+ */
+@Service
+public class ProductBulkService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ProductCountCache productCounts;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductService productService;
+
+    /** An operation that passed validation and access checks, waiting for the bulk write. */
+    private record Planned(int index, String op, Product product, Product current) {}
+
+    /** Validates, owner-checks and executes the operations; never fails as a whole for per-item errors. */
+    public ProductBulkResponse execute(List<ProductBulkOperation> operations, User currentUser) {
+        ProductBulkResult[] results = new ProductBulkResult[operations.size()];
+        List<Integer> targeted = new ArrayList<>();
+        List<Planned> planned = new ArrayList<>();
+
+        Set<String> seenIds = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            ProductBulkOperation operation = operations.get(i);
+            String op = operation.getOp() != null ? operation.getOp().toLowerCase(Locale.ROOT) : "";
+            ProductBulkResult invalid = switch (op) {
+                case "create" -> validateCreate(i, operation, currentUser);
+                case "update" -> validateUpdate(i, operation);
+                case "delete" -> validateId(i, operation);
+                default -> failure(i, op, 400, operation.getId(), "op must be create, update or delete");
+            };
+            if (invalid == null && !op.equals("create") && !seenIds.add(operation.getId())) {
+                invalid = failure(i, op, 400, operation.getId(), "Product ID appears more than once in the request");
+            }
+            if (invalid != null) {
+                results[i] = invalid;
+            } else if (op.equals("create")) {
+                planned.add(new Planned(i, op, newProduct(operation.getProduct(), currentUser), null));
+            } else {
+                targeted.add(i);
+            }
+        }
+
+        Map<String, Product> current = loadCurrent(targeted.stream()
+                .map(i -> operations.get(i).getId())
+                .collect(Collectors.toSet()));
+        boolean isAdmin = currentUser.getRole() == User.Role.ADMIN;
+        for (int i : targeted) {
+            ProductBulkOperation operation = operations.get(i);
+            String op = operation.getOp().toLowerCase(Locale.ROOT);
+            Product existing = current.get(operation.getId());
+            if (existing == null || productService.isHidden(existing.getUserId())) {
+                results[i] = failure(i, op, 404, operation.getId(), "Product not found");
+            } else if (!isAdmin && !currentUser.getId().equals(existing.getUserId())) {
+                results[i] = failure(i, op, 403, operation.getId(), "Forbidden");
+            } else if (operation.getVersion() != null && !operation.getVersion().equals(existing.getVersion())) {
+                results[i] = failure(i, op, 412, operation.getId(), "Product version does not match");
+            } else {
+                planned.add(new Planned(i, op, null, existing));
+            }
+        }
+
+        if (!planned.isEmpty()) {
+            execute(planned, operations, results);
+        }
+        int failed = (int) Arrays.stream(results).filter(result -> result.getStatus() >= 400).count();
+        return new ProductBulkResponse(Arrays.asList(results), results.length - failed, failed);
+    }
+
+    /** Runs the planned operations as one unordered bulk write and records each outcome. */
+    private void execute(List<Planned> planned, List<ProductBulkOperation> operations, ProductBulkResult[] results) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Product.class);
+        int expectedMatches = 0;
+        for (Planned item : planned) {
+            switch (item.op()) {
+                case "create" -> bulk.insert(item.product());
+                case "update" -> {
+                    ProductUpdateRequest fields = operations.get(item.index()).getProduct();
+                    bulk.updateOne(atVersion(item.current()), ProductService.toUpdate(fields).inc("version", 1));
+                    expectedMatches++;
+                }
+                default -> {
+                    bulk.remove(atVersion(item.current()));
+                    expectedMatches++;
+                }
+            }
+        }
+
+        Map<Integer, String> writeErrors = new HashMap<>();
+        BulkWriteResult result;
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                writeErrors.put(error.getIndex(), error.getMessage());
+            }
+            result = e.getResult();
+        }
+        // Matched totals tell whether any versioned update/delete lost a race; only then look at each target
+        int matched = result.getMatchedCount() + result.getDeletedCount();
+        Set<String> lostRaces = matched < expectedMatches - countErrors(planned, writeErrors)
+                ? findChanged(planned, writeErrors)
+                : Set.of();
+
+        for (int position = 0; position < planned.size(); position++) {
+            Planned item = planned.get(position);
+            int index = item.index();
+            ProductBulkOperation operation = operations.get(index);
+            if (writeErrors.containsKey(position)) {
+                results[index] = failure(index, item.op(), 409, operation.getId(), writeErrors.get(position));
+                continue;
+            }
+            switch (item.op()) {
+                case "create" -> {
+                    productCounts.adjust(item.product().getUserId(), 1);
+                    results[index] = new ProductBulkResult(index, "create", 201, item.product().getId(), 0L, null);
+                }
+                case "update" -> {
+                    productCache.invalidate(operation.getId());
+                    results[index] = lostRaces.contains(operation.getId())
+                            ? raceFailure(index, item.op(), operation)
+                            : new ProductBulkResult(index, "update", 200, operation.getId(),
+                                    item.current().getVersion() + 1, null);
+                }
+                default -> {
+                    productCache.invalidate(operation.getId());
+                    if (lostRaces.contains(operation.getId())) {
+                        results[index] = raceFailure(index, item.op(), operation);
+                    } else {
+                        productCounts.adjust(item.current().getUserId(), -1);
+                        results[index] = new ProductBulkResult(index, "delete", 204, operation.getId(), null, null);
+                    }
+                }
+            }
+        }
+    }
+
+    private ProductBulkResult validateCreate(int index, ProductBulkOperation operation, User currentUser) {
+        if (currentUser.getRole() != User.Role.USER) {
+            return failure(index, "create", 403, null, "Forbidden");
+        }
+        if (operation.getProduct() == null) {
+            return failure(index, "create", 400, null, "product is required");
+        }
+        return violations(index, "create", null, toCreateRequest(operation.getProduct()));
+    }
+
+    private ProductBulkResult validateUpdate(int index, ProductBulkOperation operation) {
+        ProductBulkResult invalidId = validateId(index, operation);
+        if (invalidId != null) {
+            return invalidId;
+        }
+        if (operation.getProduct() == null || !operation.getProduct().hasAnyField()) {
+            return failure(index, "update", 400, operation.getId(), "At least one field must be provided");
+        }
+        return violations(index, "update", operation.getId(), operation.getProduct());
+    }
+
+    private static ProductBulkResult validateId(int index, ProductBulkOperation operation) {
+        return operation.getId() != null && operation.getId().matches(ProductService.OBJECT_ID_PATTERN)
+                ? null
+                : failure(index, operation.getOp().toLowerCase(Locale.ROOT), 404, operation.getId(),
+                        "Invalid product ID format");
+    }
+
+    /** 400 with the same message format as request-body validation errors; null if valid. */
+    private ProductBulkResult violations(int index, String op, String id, Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        String message = violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return failure(index, op, 400, id, message);
+    }
+
+    /** Owner and version of the targeted products, in one query. */
+    private Map<String, Product> loadCurrent(Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Query query = Query.query(Criteria.where("id").in(ids));
+        query.fields().include("userId", "version");
+        return mongoTemplate.find(query, Product.class).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /** Targets of successful-looking updates/deletes whose stored state shows the operation did not apply. */
+    private Set<String> findChanged(List<Planned> planned, Map<Integer, String> writeErrors) {
+        Map<String, Planned> targets = new HashMap<>();
+        for (int position = 0; position < planned.size(); position++) {
+            Planned item = planned.get(position);
+            if (item.current() != null && !writeErrors.containsKey(position)) {
+                targets.put(item.current().getId(), item);
+            }
+        }
+        Map<String, Product> after = loadCurrent(targets.keySet());
+        Set<String> changed = new HashSet<>();
+        targets.forEach((id, item) -> {
+            Product now = after.get(id);
+            boolean applied = item.op().equals("update")
+                    ? now != null && now.getVersion() != null && now.getVersion() == item.current().getVersion() + 1
+                    : now == null;
+            if (!applied) {
+                changed.add(id);
+            }
+        });
+        return changed;
+    }
+
+    private static int countErrors(List<Planned> planned, Map<Integer, String> writeErrors) {
+        int count = 0;
+        for (int position : writeErrors.keySet()) {
+            if (planned.get(position).current() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Query atVersion(Product current) {
+        return Query.query(Criteria.where("id").is(current.getId()).and("version").is(current.getVersion()));
+    }
+
+    private static ProductCreateRequest toCreateRequest(ProductUpdateRequest fields) {
+        ProductCreateRequest request = new ProductCreateRequest();
+        request.setName(fields.getName());
+        request.setDescription(fields.getDescription());
+        request.setPrice(fields.getPrice() != null ? fields.getPrice() : 0);
+        request.setQuantity(fields.getQuantity() != null ? fields.getQuantity() : 0);
+        return request;
+    }
+
+    /** New product with a client-side id, so the result can report it without a read-back. */
+    private static Product newProduct(ProductUpdateRequest fields, User owner) {
+        Product product = new Product();
+        product.setId(new ObjectId().toHexString());
+        product.setName(fields.getName().trim());
+        product.setDescription(fields.getDescription() != null ? fields.getDescription().trim() : null);
+        product.setPrice(fields.getPrice() != null ? fields.getPrice() : 0);
+        product.setQuantity(fields.getQuantity() != null ? fields.getQuantity() : 0);
+        product.setUserId(owner.getId());
+        product.setVersion(0L);
+        return product;
+    }
+
+    private static ProductBulkResult raceFailure(int index, String op, ProductBulkOperation operation) {
+        return operation.getVersion() != null
+                ? failure(index, op, HttpStatus.PRECONDITION_FAILED.value(), operation.getId(),
+                        "Product version does not match")
+                : failure(index, op, HttpStatus.CONFLICT.value(), operation.getId(),
+                        "Product was modified concurrently; retry");
+    }
+
+    private static ProductBulkResult failure(int index, String op, int status, String id, String message) {
+        return new ProductBulkResult(index, op, status, id, null, message);
+    }
+}
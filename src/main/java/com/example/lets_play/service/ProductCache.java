@@ -0,0 +1,75 @@
+package com.example.lets_play.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.lets_play.config.ThreadingConfig;
+import com.example.lets_play.dto.ProductResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Size-bounded, TTL-based read-through cache of products by id for {@code GET /api/products/{id}}. Misses load through
+ * {@link ProductService} on {@link com.example.lets_play.config.ThreadingConfig#CACHE_LOADS}; concurrent misses for
+ * one id share a load, and unknown ids are not cached. {@link ProductService} invalidates entries synchronously after
+ * every update or delete; invalidation drops an in-flight load of the same id, so a load that read the old document
+ * cannot outlive the write. Cached responses are shared and must not be mutated.
+ * Hit/miss/load-time/eviction metrics are published as {@code cache.*} meters with {@code cache=products}.
+ * <p>
+ * Setup: optional {@code products.cache.max-size} (default 10000) and {@code products.cache.ttl-ms} (default 60000).
+ * The TTL bounds how long a change made on another instance can go unnoticed here.
+ */
+@Component
+public class ProductCache {
+
+    private final AsyncCache<String, ProductResponse> cache;
+
+    public ProductCache(
+            @Qualifier(ThreadingConfig.CACHE_LOADS) Executor loadExecutor,
+            @Value("${products.cache.max-size:10000}") long maxSize,
+            @Value("${products.cache.ttl-ms:60000}") long ttlMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .executor(loadExecutor)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /** Returns the cached product, or loads it with {@code loader} on a miss; empty if the loader finds nothing. */
+    public Optional<ProductResponse> get(String id, Function<String, Optional<ProductResponse>> loader) {
+        return Optional.ofNullable(CacheLoads.join(cache.get(id, key -> loader.apply(key).orElse(null))));
+    }
+
+    /**
+     * The cached products among {@code ids}, without loading misses. Batch reads load misses themselves and do not
+     * store them: a bulk load could not be coordinated with invalidation the way {@link #get} is.
+     */
+    public Map<String, ProductResponse> getAllPresent(Collection<String> ids) {
+        return cache.synchronous().getAllPresent(ids);
+    }
+
+    /** Forgets one product (after update or delete). */
+    public void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /** Forgets every cached product of one owner (after their products were removed in bulk). */
+    public void invalidateOwner(String userId) {
+        cache.synchronous().asMap().values().removeIf(product -> userId.equals(product.getUserId()));
+    }
+
+    /** Underlying cache (for metrics binding). */
+    public Cache<String, ProductResponse> nativeCache() {
+        return cache.synchronous();
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.lets_play.service;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.lets_play.config.ThreadingConfig;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Maintained product counts for page totals: one global counter and one per owner. A counter is seeded by a single
+ * count query on first use, then kept current by {@link ProductService} on create and delete instead of re-counting
+ * on every list request. Counters are re-seeded after {@code products.count-cache.ttl-ms}, which also bounds drift
+ * from writes on other instances. Seeding queries run on
+ * {@link com.example.lets_play.config.ThreadingConfig#CACHE_LOADS}; concurrent misses for one counter share a query,
+ * and a counter being seeded is not adjusted.
+ * <p>
+ * Setup: optional {@code products.count-cache.max-size} (default 10000 owners) and {@code products.count-cache.ttl-ms}
+ * (default 300000).
+ */
+@Component
+public class ProductCountCache {
+
+    private static final String ALL = "*";
+
+    private final AsyncCache<String, AtomicLong> counters;
+
+    public ProductCountCache(
+            @Qualifier(ThreadingConfig.CACHE_LOADS) Executor loadExecutor,
+            @Value("${products.count-cache.max-size:10000}") long maxSize,
+            @Value("${products.count-cache.ttl-ms:300000}") long ttlMs) {
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .executor(loadExecutor)
+                .buildAsync();
+    }
+
+    /** Number of products (all, or of one owner when {@code userId} is non-null), seeding from {@code loader} on a miss. */
+    public long count(String userId, LongSupplier loader) {
+        AtomicLong counter = CacheLoads.join(counters.get(key(userId), k -> new AtomicLong(loader.getAsLong())));
+        return Math.max(0, counter.get());
+    }
+
+    /** The counter's value if it is seeded; never loads. For non-blocking callers, which count themselves on a miss. */
+    public OptionalLong peek(String userId) {
+        AtomicLong counter = CacheLoads.ifReady(counters.getIfPresent(key(userId)));
+        return counter != null ? OptionalLong.of(Math.max(0, counter.get())) : OptionalLong.empty();
+    }
+
+    /** Seeds a counter with the caller's own count unless it is already seeded; returns the counter's value. */
+    public long seed(String userId, long count) {
+        AtomicLong counter = CacheLoads.ifReady(counters.asMap()
+                .putIfAbsent(key(userId), CompletableFuture.completedFuture(new AtomicLong(count))));
+        return counter != null ? Math.max(0, counter.get()) : count;
+    }
+
+    /** Applies a created (+) or deleted (−) delta to the owner's and the global counter, if they are seeded. */
+    public void adjust(String userId, long delta) {
+        adjustKey(ALL, delta);
+        if (userId != null) {
+            adjustKey(userId, delta);
+        }
+    }
+
+    /** Forgets one owner's counter (e.g. all their products were removed in bulk). */
+    public void invalidate(String userId) {
+        counters.synchronous().invalidate(key(userId));
+    }
+
+    private void adjustKey(String key, long delta) {
+        AtomicLong counter = CacheLoads.ifReady(counters.getIfPresent(key));
+        if (counter != null) {
+            counter.addAndGet(delta);
+        }
+    }
+
+    private static String key(String userId) {
+        return userId != null ? userId : ALL;
+    }
+}
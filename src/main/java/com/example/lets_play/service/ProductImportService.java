@@ -0,0 +1,179 @@
+package com.example.lets_play.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.lets_play.dto.ProductImportProgress;
+import com.example.lets_play.model.Product;
+import com.example.lets_play.model.User;
+import com.example.lets_play.model.UserSnapshot;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Runs POST /api/products:import with a {@link ProductImporter} that stores each batch with one unordered
+ * {@code insertMany}, so a rejected row does not stop the rest of its batch. Batches of all imports share one pool of
+ * {@code products.import.insert-threads}; each import keeps at most {@code products.import.max-in-flight} batches
+ * queued or running. Per-owner and global product counts are adjusted per stored batch. With virtual threads enabled,
+ * each batch runs on its own virtual thread, still at most {@code products.import.insert-threads} at a time.
+ * <p>
+ * Setup: optional {@code products.import.batch-size} (default 1000), {@code products.import.max-in-flight}
+ * (default 4) and {@code products.import.insert-threads} (default 4).
+ */
+@Service
+public class ProductImportService {
+
+    private final MongoCollection<Document> collection;
+    private final ProductCountCache productCounts;
+    private final UserDirectory userDirectory;
+    private final Executor executor;
+    private final ProductImporter importer;
+
+    public ProductImportService(
+            MongoTemplate mongoTemplate,
+            Validator validator,
+            ObjectMapper objectMapper,
+            ProductCountCache productCounts,
+            UserDirectory userDirectory,
+            Environment environment,
+            @Value("${products.import.batch-size:1000}") int batchSize,
+            @Value("${products.import.max-in-flight:4}") int maxInFlight,
+            @Value("${products.import.insert-threads:4}") int insertThreads) {
+        this.collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Product.class));
+        this.productCounts = productCounts;
+        this.userDirectory = userDirectory;
+        int poolSize = Math.max(1, insertThreads);
+        this.executor = Threading.VIRTUAL.isActive(environment)
+                ? virtualThreadExecutor(poolSize)
+                : platformThreadExecutor(poolSize);
+        this.importer = new ProductImporter(validator, objectMapper, mongoTemplate.getConverter(), this::insertBatch,
+                executor, batchSize, maxInFlight);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtualThreads) {
+            virtualThreads.close();
+        }
+    }
+
+    /**
+     * Imports the upload as products of {@code userId} (admin only) or of the current user (USER role), reporting
+     * errors and progress to {@code listener}. Returns the final {@code done} event. A new import gets a fresh
+     * {@code importId}; resuming ({@code offset > 0}) requires the one its events reported.
+     */
+    public ProductImportProgress importProducts(
+            InputStream body,
+            ProductImporter.Format format,
+            String importId,
+            long offset,
+            String userId,
+            User currentUser,
+            ProductImporter.Listener listener) throws IOException {
+        if (offset < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset must be >= 0");
+        }
+        ObjectId key;
+        if (importId == null || importId.isBlank()) {
+            if (offset > 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "importId is required to resume an import");
+            }
+            key = new ObjectId();
+        } else if (ObjectId.isValid(importId.trim())) {
+            key = new ObjectId(importId.trim());
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid importId");
+        }
+        return importer.run(body, format, key, offset, resolveOwner(userId, currentUser), listener);
+    }
+
+    /** Owner of the imported products: the current seller, or the seller an admin imports for. */
+    private String resolveOwner(String userId, User currentUser) {
+        if (userId == null || userId.isBlank()) {
+            if (currentUser.getRole() != User.Role.USER) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "userId is required for admin imports");
+            }
+            return currentUser.getId();
+        }
+        if (currentUser.getRole() != User.Role.ADMIN) {
+            if (userId.equals(currentUser.getId())) {
+                return userId;
+            }
+            throw new AccessDeniedException("Only admins can import products for another user");
+        }
+        UserSnapshot owner = userDirectory.find(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "User not found"));
+        if (owner.role() != User.Role.USER) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Products can only be owned by USER accounts");
+        }
+        return owner.id();
+    }
+
+    private static ExecutorService platformThreadExecutor(int poolSize) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "product-import-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /** A virtual thread per batch; submitters wait while {@code concurrencyLimit} batches are running. */
+    private static SimpleAsyncTaskExecutor virtualThreadExecutor(int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("product-import-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
+
+    /** One unordered insertMany; rejected rows (e.g. duplicate key) are returned by batch position. */
+    private Map<Integer, String> insertBatch(List<Document> documents) {
+        Map<Integer, String> failures = new HashMap<>();
+        try {
+            collection.insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            for (BulkWriteError error : e.getWriteErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            if (failures.isEmpty()) {
+                throw e;
+            }
+        }
+        int stored = documents.size() - failures.size();
+        if (stored > 0) {
+            productCounts.adjust(documents.get(0).getString("userId"), stored);
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,446 @@
+package com.example.lets_play.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.lets_play.dto.ProductCreateRequest;
+import com.example.lets_play.dto.ProductImportError;
+import com.example.lets_play.dto.ProductImportProgress;
+import com.example.lets_play.model.Product;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming import pipeline behind POST /api/products:import, kept free of Spring wiring so it can be benchmarked on
+ * its own. The body is read one line at a time; each row is validated with the {@link ProductCreateRequest} rules,
+ * mapped to a {@code products} document, and collected into batches of {@code batchSize}. Full batches are handed to a
+ * {@link BatchInserter} on the executor with at most {@code maxInFlight} outstanding; the reader blocks while that many
+ * are pending, so memory stays at about {@code (maxInFlight + 1) * batchSize} rows whatever the upload size.
+ * <p>
+ * Formats: NDJSON (one {@link ProductCreateRequest} object per line) and CSV with a header row naming
+ * {@code name}, {@code price}, {@code quantity} and optionally {@code description}, in any order (other columns are
+ * ignored). CSV fields may be quoted with {@code ""} as escape but may not span lines.
+ * <p>
+ * Line numbers count data lines from 1 (the CSV header is not counted). {@code committedLine} in progress events is the
+ * line up to which every row has been stored or reported as failed; an interrupted import resumes with the same
+ * {@code importId} and {@code offset=committedLine}. Batches finish out of order, so rows after {@code committedLine}
+ * may already be stored: each row's {@code _id} is derived from the import id and its line number
+ * ({@link #rowId}), so re-sending such a row fails with a duplicate key error for that row instead of storing it
+ * twice. Rows are reported as errors individually, up to {@value #MAX_REPORTED_ERRORS}; beyond that they are only
+ * counted.
+ */
+public class ProductImporter {
+
+    /** Upload formats. */
+    public enum Format { NDJSON, CSV }
+
+    /** Stores one batch; returns the positions in {@code documents} that were rejected, with the reason. */
+    @FunctionalInterface
+    public interface BatchInserter {
+        Map<Integer, String> insert(List<Document> documents);
+    }
+
+    /**
+     * Receives errors and progress. Called from the reading thread and from insert threads, never concurrently.
+     * An exception (e.g. the client went away) stops the import after the in-flight batches finish.
+     */
+    public interface Listener {
+        void onError(ProductImportError error);
+
+        void onProgress(ProductImportProgress progress);
+    }
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    /** Highest line number {@link #rowId} can encode. */
+    static final long MAX_LINE = 0xFFFFFFFFL;
+
+    private static final Set<String> REQUIRED_COLUMNS = Set.of("name", "price", "quantity");
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final MongoConverter converter;
+    private final BatchInserter inserter;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxInFlight;
+
+    public ProductImporter(
+            Validator validator,
+            ObjectMapper objectMapper,
+            MongoConverter converter,
+            BatchInserter inserter,
+            Executor executor,
+            int batchSize,
+            int maxInFlight) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.converter = converter;
+        this.inserter = inserter;
+        this.executor = executor;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * Imports every row of {@code body} after the first {@code offset} data lines as products of {@code ownerId}, with
+     * ids derived from {@code importId}. Returns (and reports) the final {@code done} event once all batches have been
+     * stored.
+     *
+     * @throws ResponseStatusException 400 if the CSV header lacks a required column
+     */
+    public ProductImportProgress run(
+            InputStream body,
+            Format format,
+            ObjectId importId,
+            long offset,
+            String ownerId,
+            Listener listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        Run run = new Run(listener, importId.toHexString(), offset);
+        Semaphore permits = new Semaphore(maxInFlight);
+        long line = 0;
+        try {
+            String text = stripBom(reader.readLine());
+            int[] columns = null;
+            if (format == Format.CSV && text != null) {
+                columns = readHeader(text);
+                text = reader.readLine();
+            }
+            List<Document> documents = new ArrayList<>(batchSize);
+            long[] lines = new long[batchSize];
+            for (; text != null && !run.stopped(); text = reader.readLine()) {
+                line++;
+                if (line <= offset) {
+                    continue;
+                }
+                run.linesRead++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                Document document;
+                try {
+                    ProductCreateRequest row = columns != null ? parseCsv(text, columns) : parseJson(text);
+                    document = toDocument(row, ownerId, rowId(importId, line));
+                } catch (IllegalArgumentException e) {
+                    run.rowFailed(line, e.getMessage());
+                    continue;
+                }
+                lines[documents.size()] = line;
+                documents.add(document);
+                if (documents.size() == batchSize) {
+                    submit(run, permits, documents, lines, line);
+                    documents = new ArrayList<>(batchSize);
+                    lines = new long[batchSize];
+                }
+            }
+            if (!documents.isEmpty() && !run.stopped()) {
+                submit(run, permits, documents, lines, line);
+            }
+        } finally {
+            // No insert thread may report after this method returns
+            permits.acquireUninterruptibly(maxInFlight);
+        }
+        run.rethrowListenerFailure();
+        return run.finish(Math.max(line, offset));
+    }
+
+    /** Queues one batch, waiting while {@code maxInFlight} batches are outstanding. */
+    private void submit(Run run, Semaphore permits, List<Document> documents, long[] lines, long lastLine) {
+        permits.acquireUninterruptibly();
+        run.batchQueued(lastLine);
+        try {
+            executor.execute(() -> {
+                try {
+                    run.batchDone(lastLine, lines, documents.size(), insert(documents));
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** Inserts a batch; a failure of the whole call fails every row of it. */
+    private Map<Integer, String> insert(List<Document> documents) {
+        try {
+            return inserter.insert(documents);
+        } catch (RuntimeException e) {
+            Map<Integer, String> failures = new TreeMap<>();
+            for (int i = 0; i < documents.size(); i++) {
+                failures.put(i, "Insert failed: " + e.getMessage());
+            }
+            return failures;
+        }
+    }
+
+    private ProductCreateRequest parseJson(String text) {
+        try {
+            return objectMapper.readValue(text, ProductCreateRequest.class);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /** Row from CSV fields; an empty price or quantity reads as 0, as a missing JSON field does. */
+    private static ProductCreateRequest parseCsv(String text, int[] columns) {
+        List<String> fields = splitCsv(text);
+        ProductCreateRequest request = new ProductCreateRequest();
+        request.setName(field(fields, columns[0]));
+        request.setDescription(field(fields, columns[1]));
+        String price = field(fields, columns[2]);
+        String quantity = field(fields, columns[3]);
+        try {
+            request.setPrice(price == null || price.isBlank() ? 0 : Double.parseDouble(price.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("price: must be a number");
+        }
+        try {
+            request.setQuantity(quantity == null || quantity.isBlank() ? 0 : Integer.parseInt(quantity.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("quantity: must be an integer");
+        }
+        return request;
+    }
+
+    /**
+     * Id of the product imported from {@code line}: the import id's timestamp, its remaining eight bytes folded to four
+     * (ids of one process differ in their counter bytes), then the line number. The same import id and line always give
+     * the same id, and ids stay in import order.
+     */
+    static ObjectId rowId(ObjectId importId, long line) {
+        if (line < 1 || line > MAX_LINE) {
+            throw new IllegalArgumentException("Line number out of range for an import (max " + MAX_LINE + ")");
+        }
+        ByteBuffer key = ByteBuffer.wrap(importId.toByteArray());
+        int timestamp = key.getInt();
+        long rest = key.getLong();
+        return new ObjectId(ByteBuffer.allocate(12)
+                .putInt(timestamp)
+                .putInt((int) (rest ^ (rest >>> 32)))
+                .putInt((int) line)
+                .array());
+    }
+
+    /** Validated row as a {@code products} document, written by the same converter as repository saves. */
+    private Document toDocument(ProductCreateRequest request, String ownerId, ObjectId id) {
+        Set<ConstraintViolation<ProductCreateRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        Product product = new Product();
+        product.setId(id.toHexString());
+        product.setName(request.getName().trim());
+        product.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
+        product.setPrice(request.getPrice());
+        product.setQuantity(request.getQuantity());
+        product.setUserId(ownerId);
+        product.setVersion(0L);
+        Document document = new Document();
+        converter.write(product, document);
+        return document;
+    }
+
+    /** Column positions of name, description, price, quantity (-1 if absent). */
+    private static int[] readHeader(String header) {
+        List<String> names = splitCsv(header).stream()
+                .map(name -> name.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!names.containsAll(REQUIRED_COLUMNS)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "CSV header must name the columns name, price and quantity");
+        }
+        return new int[] {
+                names.indexOf("name"), names.indexOf("description"), names.indexOf("price"), names.indexOf("quantity")
+        };
+    }
+
+    /** Splits one CSV line; fields may be quoted, with {@code ""} standing for a quote inside a quoted field. */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Malformed CSV: unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column) : null;
+    }
+
+    private static String stripBom(String line) {
+        return line != null && !line.isEmpty() && line.charAt(0) == '\uFEFF' ? line.substring(1) : line;
+    }
+
+    /**
+     * State of one import. Batches are keyed by their last line; {@code committedLine} advances over the longest
+     * prefix of finished batches, since batches may finish out of order. Guarded by a {@link ReentrantLock} rather than
+     * {@code synchronized}: events are written to the response while it is held, and a virtual thread blocked in I/O
+     * inside a monitor would pin its carrier thread.
+     */
+    private static final class Run {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Listener listener;
+        private final String importId;
+        private final TreeMap<Long, Boolean> batches = new TreeMap<>();
+        /** Written by the reading thread only. */
+        private volatile long linesRead;
+        private long inserted;
+        private long failed;
+        private long reportedErrors;
+        private long committedLine;
+        private RuntimeException listenerFailure;
+
+        Run(Listener listener, String importId, long offset) {
+            this.listener = listener;
+            this.importId = importId;
+            this.committedLine = offset;
+        }
+
+        boolean stopped() {
+            lock.lock();
+            try {
+                return listenerFailure != null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void rowFailed(long line, String message) {
+            lock.lock();
+            try {
+                failed++;
+                report(line, message);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void batchQueued(long lastLine) {
+            lock.lock();
+            try {
+                batches.put(lastLine, Boolean.FALSE);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void batchDone(long lastLine, long[] lines, int size, Map<Integer, String> failures) {
+            lock.lock();
+            try {
+                inserted += size - failures.size();
+                failed += failures.size();
+                new TreeMap<>(failures).forEach((position, message) -> report(lines[position], message));
+                batches.put(lastLine, Boolean.TRUE);
+                while (!batches.isEmpty() && batches.firstEntry().getValue()) {
+                    committedLine = batches.pollFirstEntry().getKey();
+                }
+                emit(progress("progress"));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        ProductImportProgress finish(long lastLine) {
+            lock.lock();
+            try {
+                committedLine = Math.max(committedLine, lastLine);
+                ProductImportProgress done = progress("done");
+                emit(done);
+                rethrowListenerFailure();
+                return done;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void rethrowListenerFailure() {
+            lock.lock();
+            try {
+                if (listenerFailure != null) {
+                    throw listenerFailure;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void report(long line, String message) {
+            if (reportedErrors < MAX_REPORTED_ERRORS && listenerFailure == null) {
+                reportedErrors++;
+                try {
+                    listener.onError(new ProductImportError(line, message));
+                } catch (RuntimeException e) {
+                    listenerFailure = e;
+                }
+            }
+        }
+
+        private void emit(ProductImportProgress progress) {
+            if (listenerFailure == null) {
+                try {
+                    listener.onProgress(progress);
+                } catch (RuntimeException e) {
+                    listenerFailure = e;
+                }
+            }
+        }
+
+        private ProductImportProgress progress(String event) {
+            return new ProductImportProgress(event, importId, linesRead, inserted, failed, committedLine);
+        }
+    }
+}
@@ -1,165 +1,560 @@
 package com.example.lets_play.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.example.lets_play.dto.ProductBatchGetItem;
+import com.example.lets_play.dto.ProductBatchGetResponse;
 import com.example.lets_play.dto.ProductCreateRequest;
+import com.example.lets_play.dto.ProductField;
 import com.example.lets_play.dto.ProductResponse;
 import com.example.lets_play.dto.ProductUpdateRequest;
 import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.dto.QuantityAdjustment;
+import com.example.lets_play.dto.QuantityBatchResponse;
+import com.example.lets_play.dto.QuantityResponse;
 import com.example.lets_play.model.Product;
 import com.example.lets_play.model.User;
+import com.example.lets_play.repository.ProductReadRepository;
 import com.example.lets_play.repository.ProductRepository;
+import com.example.lets_play.repository.ProductWriteRepository;
 
 /**
  * Product CRUD and listing. Access rules (public vs authenticated, owner/admin) are enforced by controllers;
  * this service performs owner-or-admin checks for update/delete and uses {@link User} for the current caller.
+ * Public reads go through {@link ProductReadRepository} (projected, decoded straight to {@link ProductResponse});
+ * conditional single-document writes go through {@link ProductWriteRepository}, the rest through
+ * {@link ProductRepository}.
  * <p>
  * Setup: none.
  */
 @Service
 public class ProductService {
 
-    private static final String OBJECT_ID_PATTERN = "^[a-fA-F0-9]{24}$";
-    private static final int MAX_PAGE_SIZE = 100;
+    private static final Logger log = LoggerFactory.getLogger(ProductService.class);
+
+    static final String OBJECT_ID_PATTERN = "^[a-fA-F0-9]{24}$";
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_BATCH_GET = 100;
+    /** Smallest possible ObjectId; keyset scans without a cursor start after it. */
+    static final String MIN_OBJECT_ID = "000000000000000000000000";
 
     @Autowired
     private ProductRepository productRepository;
 
+    /** Owners with a pending cascade delete; their products are hidden from every read. */
+    private final Set<String> hiddenOwners = ConcurrentHashMap.newKeySet();
+
+    @Value("${products.export.batch-size:1000}")
+    private int exportBatchSize;
+
+    @Autowired
+    private ProductReadRepository productReads;
+
+    @Autowired
+    private ProductWriteRepository productWrites;
+
+    @Autowired
+    private ProductCountCache productCounts;
+
+    @Autowired
+    private ProductCache productCache;
+
     /**
      * List products with optional owner filter and pagination.
-     * Public access. page is 0-based; size is clamped to 1–100.
+     * Public access. page is 0-based; size is clamped to 1–100; 400 if the offset (page * size) exceeds
+     * {@link Integer#MAX_VALUE}. The page itself is fetched without a count query; with {@code includeTotal} the
+     * totals come from {@link ProductCountCache}, otherwise they are omitted and {@code hasNext} tells whether another
+     * page follows. The products are handed to {@code items} in page order as they are read from the cursor, with only
+     * {@code fields} read from MongoDB (see {@link #parseFields}); the returned page carries only the metadata
+     * ({@code content} is null).
      */
-    public ProductsResponse listProducts(String userId, int page, int size) {
-        if (userId != null && !userId.isBlank()) {
+    public ProductsResponse listProducts(
+            String userId,
+            int page,
+            int size,
+            boolean includeTotal,
+            Set<ProductField> fields,
+            Consumer<ProductResponse> items) {
+        boolean byOwner = userId != null && !userId.isBlank();
+        if (byOwner) {
             validateObjectId(userId);
         }
         int safeSize = Math.min(MAX_PAGE_SIZE, Math.max(1, size));
-        Pageable pageable = PageRequest.of(Math.max(0, page), safeSize);
+        int pageNumber = Math.max(0, page);
+        long offset = pageOffset(pageNumber, safeSize);
+        String ownerId = byOwner ? userId.trim() : null;
+        if (byOwner && hiddenOwners.contains(ownerId)) {
+            return includeTotal
+                    ? new ProductsResponse(null, 0, 0, safeSize, pageNumber)
+                    : new ProductsResponse(null, safeSize, pageNumber, false);
+        }
 
-        Page<Product> productPage = userId != null && !userId.isBlank()
-                ? productRepository.findByUserId(userId.trim(), pageable)
-                : productRepository.findAll(pageable);
+        PageItems content = new PageItems(safeSize, items);
+        productReads.findPage(ownerId, hiddenOwners(), offset, safeSize + 1, fields, content);
+        if (!includeTotal) {
+            return new ProductsResponse(null, safeSize, pageNumber, content.hasNext);
+        }
 
-        List<ProductResponse> content = productPage.getContent().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        long total = productCounts.count(ownerId,
+                () -> byOwner ? productRepository.countByUserId(ownerId) : productReads.count(hiddenOwners()));
+        // A counter that lags behind must never contradict the page we just read
+        total = Math.max(total, offset + content.count + (content.hasNext ? 1 : 0));
         return new ProductsResponse(
-                content,
-                productPage.getTotalElements(),
-                productPage.getTotalPages(),
-                productPage.getSize(),
-                productPage.getNumber());
+                null,
+                total,
+                (int) Math.ceil((double) total / safeSize),
+                safeSize,
+                pageNumber);
+    }
+
+    /**
+     * List products in id order after the given position (keyset pagination), with optional owner filter.
+     * Public access. {@code afterId} is the last id of the previous page (null for the first page); size is clamped
+     * to 1–100. Seeks by {@code _id} instead of skipping and runs no count, so deep pages cost the same as the first.
+     * Products go to {@code items} as in {@link #listProducts}; the returned page carries {@code nextCursor} (opaque,
+     * see {@link #decodeCursor}) while more results follow.
+     */
+    public ProductsResponse listProductsAfter(
+            String userId,
+            String afterId,
+            int size,
+            Set<ProductField> fields,
+            Consumer<ProductResponse> items) {
+        boolean byOwner = userId != null && !userId.isBlank();
+        if (byOwner) {
+            validateObjectId(userId);
+        }
+        String after = afterId != null && !afterId.isBlank() ? afterId.trim() : MIN_OBJECT_ID;
+        if (!after.matches(OBJECT_ID_PATTERN)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        int safeSize = Math.min(MAX_PAGE_SIZE, Math.max(1, size));
+        String ownerId = byOwner ? userId.trim() : null;
+        if (byOwner && hiddenOwners.contains(ownerId)) {
+            return new ProductsResponse(null, safeSize, null);
+        }
+        PageItems content = new PageItems(safeSize, items);
+        productReads.findAfter(ownerId, hiddenOwners(), after, safeSize + 1, fields, content);
+        String nextCursor = content.hasNext ? encodeCursor(content.lastId) : null;
+        return new ProductsResponse(null, safeSize, nextCursor);
+    }
+
+    /**
+     * Stream every product in id order after {@code afterId} (null for the start), with optional owner filter, for
+     * the NDJSON export. Validates before opening the cursor, so bad input fails before anything is written.
+     * One server cursor reads {@code products.export.batch-size} documents per round trip; the caller must close the
+     * stream. Resume an interrupted export by passing the last id received as {@code afterId}.
+     */
+    public Stream<ProductResponse> streamProducts(String userId, String afterId) {
+        boolean byOwner = userId != null && !userId.isBlank();
+        if (byOwner) {
+            validateObjectId(userId);
+        }
+        String after = afterId != null && !afterId.isBlank() ? afterId.trim() : MIN_OBJECT_ID;
+        if (!after.matches(OBJECT_ID_PATTERN)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        String ownerId = byOwner ? userId.trim() : null;
+        if (byOwner && hiddenOwners.contains(ownerId)) {
+            return Stream.empty();
+        }
+        return productReads.streamAfter(ownerId, hiddenOwners(), after, exportBatchSize);
+    }
+
+    /**
+     * Parses a {@code fields} parameter: comma-separated {@link ProductResponse} property names, in any order.
+     * Null or blank selects every field; blank names between commas are ignored. Throws 400 naming the first unknown
+     * field, or if only blank names are given (e.g. {@code fields=,}).
+     */
+    public Set<ProductField> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ProductField.ALL;
+        }
+        Set<ProductField> selected = EnumSet.noneOf(ProductField.class);
+        for (String name : fields.split(",")) {
+            if (name.isBlank()) {
+                continue;
+            }
+            ProductField field = ProductField.fromProperty(name.trim());
+            if (field == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name.trim());
+            }
+            selected.add(field);
+        }
+        if (selected.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "fields must name at least one field");
+        }
+        return selected;
+    }
+
+    /**
+     * Decodes an opaque cursor returned as {@code nextCursor} into the product id it points after.
+     * Empty input means "first page". Throws 400 if the cursor is malformed.
+     */
+    public String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.US_ASCII);
+            if (id.matches(OBJECT_ID_PATTERN)) {
+                return id;
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through to 400
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
     }
 
     /**
      * Create a product owned by the current user. Authenticated users only.
      */
     public ProductResponse createProduct(ProductCreateRequest request, User currentUser) {
-        Product product = new Product();
-        product.setName(request.getName().trim());
-        product.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
-        product.setPrice(request.getPrice());
-        product.setQuantity(request.getQuantity());
-        product.setUserId(currentUser.getId());
-
-        product = productRepository.save(product);
+        Product product = productRepository.save(newProduct(request, currentUser));
+        productCounts.adjust(product.getUserId(), 1);
         return toResponse(product);
     }
 
     /**
-     * Get product by id. Public access. Returns 404 if not found or invalid id.
+     * Get product by id. Public access. Returns 404 if not found or invalid id. Served from {@link ProductCache}.
      */
     public ProductResponse getProductById(String id) {
         validateProductId(id);
-        Product product = productRepository.findById(id)
+        return productCache.get(id, productReads::findById)
+                .filter(product -> !hiddenOwners.contains(product.getUserId()))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
-        return toResponse(product);
+    }
+
+    /**
+     * Products by id for carts and order histories: one item per distinct id (compared case-insensitively), in order of
+     * first appearance, each marked found or not found. Malformed, unknown and hidden-owner ids are not found. Cached
+     * products come from {@link ProductCache}; the rest are read with one {@code $in} query (and not cached).
+     */
+    public ProductBatchGetResponse getProductsByIds(List<String> ids) {
+        Map<String, String> requested = distinctIds(ids);
+        List<String> valid = requested.keySet().stream().filter(id -> id.matches(OBJECT_ID_PATTERN)).toList();
+        Map<String, ProductResponse> products = new HashMap<>(productCache.getAllPresent(valid));
+        List<String> misses = valid.stream().filter(id -> !products.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            productReads.findByIds(misses).forEach(product -> products.put(product.getId(), product));
+        }
+        return toBatchResponse(requested, products);
+    }
+
+    /** Requested ids keyed by their lower-case form, duplicates dropped, in order of first appearance; 400 if too many. */
+    static Map<String, String> distinctIds(List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_GET) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + MAX_BATCH_GET + " ids are required");
+        }
+        Map<String, String> requested = new LinkedHashMap<>();
+        for (String id : ids) {
+            String trimmed = id != null ? id.trim() : "";
+            requested.putIfAbsent(trimmed.toLowerCase(Locale.ROOT), trimmed);
+        }
+        return requested;
+    }
+
+    /** One item per requested id, found if {@code products} has it and its owner is not hidden. */
+    ProductBatchGetResponse toBatchResponse(Map<String, String> requested, Map<String, ProductResponse> products) {
+        List<ProductBatchGetItem> items = new ArrayList<>(requested.size());
+        int found = 0;
+        for (Map.Entry<String, String> entry : requested.entrySet()) {
+            ProductResponse product = products.get(entry.getKey());
+            if (product != null && !hiddenOwners.contains(product.getUserId())) {
+                items.add(new ProductBatchGetItem(entry.getValue(), true, product));
+                found++;
+            } else {
+                items.add(new ProductBatchGetItem(entry.getValue(), false, null));
+            }
+        }
+        return new ProductBatchGetResponse(items, found, items.size() - found);
     }
 
     /**
      * Update product. Product owner or admin only. At least one field required.
+     * One {@code findAndModify}: the filter carries the id, the owner (omitted for admins) and, with
+     * {@code expectedVersion} (from If-Match), the version; only the provided fields are {@code $set} and the version
+     * is incremented. If nothing matched, a follow-up read picks the error: 404, 403, or 412 (409 without If-Match).
      */
-    public ProductResponse updateProduct(String id, ProductUpdateRequest request, User currentUser) {
+    public ProductResponse updateProduct(
+            String id,
+            ProductUpdateRequest request,
+            User currentUser,
+            Long expectedVersion) {
         validateProductId(id);
         if (!request.hasAnyField()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one field must be provided");
         }
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
-        ensureOwnerOrAdmin(product, currentUser);
-
-        if (request.getName() != null) {
-            product.setName(request.getName().trim());
+        Product product = productWrites.findAndUpdate(id, ownerFilter(currentUser), expectedVersion, toUpdate(request));
+        productCache.invalidate(id);
+        if (product == null) {
+            throw explainMiss(id, currentUser, concurrentModification(expectedVersion));
         }
-        if (request.getDescription() != null) {
-            product.setDescription(request.getDescription().trim());
+        return toResponse(product);
+    }
+
+    /**
+     * Atomically add a signed {@code delta} to a product's quantity. Product owner or admin only (as for PUT).
+     * One guarded {@code $inc}, so concurrent adjustments never lose updates and never need retries; a decrement
+     * larger than the stock fails with 409 and changes nothing.
+     */
+    public QuantityResponse adjustQuantity(String id, int delta, User currentUser) {
+        validateProductId(id);
+        Product product = productWrites.adjustQuantity(id, ownerFilter(currentUser), delta);
+        productCache.invalidate(id);
+        if (product == null) {
+            throw explainMiss(id, currentUser,
+                    new ResponseStatusException(HttpStatus.CONFLICT, "Insufficient quantity for product " + id));
         }
-        if (request.getPrice() != null) {
-            product.setPrice(request.getPrice());
+        return new QuantityResponse(id, product.getQuantity());
+    }
+
+    /**
+     * Apply several quantity adjustments all-or-nothing (e.g. the lines of one order). Lines for the same product are
+     * merged; products are adjusted one guarded {@code $inc} at a time in id order. If one fails, the adjustments
+     * already applied are reverted and the failure (404/403/409) is returned. Other readers may briefly observe the
+     * applied-then-reverted quantities.
+     */
+    public QuantityBatchResponse adjustQuantities(List<QuantityAdjustment> items, User currentUser) {
+        Map<String, Integer> deltas = new TreeMap<>();
+        for (QuantityAdjustment item : items) {
+            validateProductId(item.getProductId());
+            deltas.merge(item.getProductId(), item.getDelta(), Integer::sum);
         }
-        if (request.getQuantity() != null) {
-            product.setQuantity(request.getQuantity());
+        Map<String, Integer> applied = new LinkedHashMap<>();
+        List<QuantityResponse> results = new ArrayList<>(deltas.size());
+        try {
+            for (Map.Entry<String, Integer> entry : deltas.entrySet()) {
+                results.add(adjustQuantity(entry.getKey(), entry.getValue(), currentUser));
+                applied.put(entry.getKey(), entry.getValue());
+            }
+        } catch (RuntimeException e) {
+            revert(applied);
+            throw e;
         }
-
-        product = productRepository.save(product);
-        return toResponse(product);
+        return new QuantityBatchResponse(results);
     }
 
     /**
      * Delete product. Product owner or admin only.
+     * One {@code findAndModify} remove filtered by id, owner (omitted for admins) and, with {@code expectedVersion}
+     * (from If-Match), the version. Only if nothing matched does a probe pick 404, 403 or 412.
      */
-    public void deleteProduct(String id, User currentUser) {
+    public void deleteProduct(String id, User currentUser, Long expectedVersion) {
         validateProductId(id);
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
-        ensureOwnerOrAdmin(product, currentUser);
-        productRepository.deleteById(id);
+        Product removed = productWrites.findAndRemove(id, ownerFilter(currentUser), expectedVersion);
+        productCache.invalidate(id);
+        if (removed == null) {
+            throw explainMiss(id, currentUser, concurrentModification(expectedVersion));
+        }
+        productCounts.adjust(removed.getUserId(), -1);
+    }
+
+    /**
+     * Hide all products of a user whose cascade delete is pending: they disappear from lists, counts and get-by-id
+     * immediately, while {@link UserDeletionService} removes them in the background.
+     */
+    public void hideOwner(String userId) {
+        if (hiddenOwners.add(userId)) {
+            productCache.invalidateOwner(userId);
+            productCounts.invalidate(userId);
+            productCounts.invalidate(null);
+        }
+    }
+
+    /** Stop hiding a user's products (their cascade delete finished, so none are left). */
+    public void unhideOwner(String userId) {
+        hiddenOwners.remove(userId);
+        productCounts.invalidate(userId);
+    }
+
+    /** True if the owner's products are hidden (cascade delete pending). */
+    boolean isHidden(String userId) {
+        return hiddenOwners.contains(userId);
+    }
+
+    /** Currently hidden owners (snapshot). */
+    public Set<String> hiddenOwners() {
+        return Set.copyOf(hiddenOwners);
     }
 
     /**
-     * Delete all products owned by the given user. Used when cascading from user deletion.
+     * Align hidden owners with the pending jobs in MongoDB (jobs started or finished on other instances). Only owners
+     * in {@code before}, the snapshot taken before {@code pending} was read, may be unhidden, so an owner hidden
+     * concurrently by this instance is never dropped.
      */
-    public void deleteByUserId(String userId) {
-        productRepository.deleteByUserId(userId);
+    public void syncHiddenOwners(Set<String> before, Set<String> pending) {
+        pending.forEach(this::hideOwner);
+        before.stream()
+                .filter(userId -> !pending.contains(userId))
+                .forEach(this::unhideOwner);
+    }
+
+    /**
+     * Delete up to {@code limit} products of the given (hidden) owner; returns how many were removed. Used by the
+     * cascade delete after user deletion. Counters need no adjustment: hidden owners are already excluded.
+     */
+    public long deleteBatchByOwner(String userId, int limit) {
+        long deleted = productWrites.deleteBatchByOwner(userId, limit);
+        if (deleted > 0) {
+            productCache.invalidateOwner(userId);
+        }
+        return deleted;
+    }
+
+    private void revert(Map<String, Integer> applied) {
+        applied.forEach((id, delta) -> {
+            try {
+                productWrites.incrementQuantity(id, -delta);
+            } catch (RuntimeException e) {
+                log.error("Could not revert quantity adjustment {} on product {}: {}", delta, id, e.getMessage());
+            } finally {
+                productCache.invalidate(id);
+            }
+        });
+    }
+
+    /** Forwards the first {@code size} products of a {@code size + 1} read and notes whether there was one more. */
+    private static final class PageItems implements Consumer<ProductResponse> {
+
+        private final int size;
+        private final Consumer<ProductResponse> items;
+        private int count;
+        private boolean hasNext;
+        private String lastId;
+
+        PageItems(int size, Consumer<ProductResponse> items) {
+            this.size = size;
+            this.items = items;
+        }
+
+        @Override
+        public void accept(ProductResponse product) {
+            if (count == size) {
+                hasNext = true;
+                return;
+            }
+            items.accept(product);
+            count++;
+            lastId = product.getId();
+        }
+    }
+
+    /** Owner predicate for conditional writes: the caller's id, or null (any owner) for admins. */
+    static String ownerFilter(User currentUser) {
+        return currentUser.getRole() == User.Role.ADMIN ? null : currentUser.getId();
+    }
+
+    /** Why a conditional write matched nothing: missing (404), not the caller's (403), or {@code otherwise}. */
+    private RuntimeException explainMiss(String id, User currentUser, RuntimeException otherwise) {
+        return missReason(productReads.findOwner(id).orElse(null), currentUser, otherwise);
+    }
+
+    /** {@link #explainMiss} given the probed product ({@code id} and owner; null if it does not exist). */
+    static RuntimeException missReason(ProductResponse current, User currentUser, RuntimeException otherwise) {
+        if (current == null) {
+            return new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
+        }
+        if (ownerFilter(currentUser) != null && !currentUser.getId().equals(current.getUserId())) {
+            return new AccessDeniedException("Forbidden");
+        }
+        return otherwise;
+    }
+
+    static ResponseStatusException concurrentModification(Long expectedVersion) {
+        return expectedVersion != null
+                ? new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Product version does not match If-Match")
+                : new ResponseStatusException(HttpStatus.CONFLICT, "Product was modified concurrently; retry");
+    }
+
+    static String encodeCursor(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.US_ASCII));
     }
 
-    private void validateProductId(String id) {
+    static void validateProductId(String id) {
         if (id == null || !id.matches(OBJECT_ID_PATTERN)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Invalid product ID format");
         }
     }
 
-    private void validateObjectId(String id) {
+    static void validateObjectId(String id) {
         if (id == null || !id.matches(OBJECT_ID_PATTERN)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid user ID format");
         }
     }
 
-    private void ensureOwnerOrAdmin(Product product, User currentUser) {
-        boolean isOwner = product.getUserId() != null && product.getUserId().equals(currentUser.getId());
-        boolean isAdmin = currentUser.getRole() == User.Role.ADMIN;
-        if (!isOwner && !isAdmin) {
-            throw new AccessDeniedException("Forbidden");
+    /** Number of products before the page; 400 beyond what MongoDB's {@code skip} takes (an int). */
+    static long pageOffset(int pageNumber, int size) {
+        long offset = (long) pageNumber * size;
+        if (offset > Integer.MAX_VALUE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "page too large: page * size must not exceed " + Integer.MAX_VALUE + "; use cursor pagination");
+        }
+        return offset;
+    }
+
+    /** Product entity for a create request, owned by {@code owner}. */
+    static Product newProduct(ProductCreateRequest request, User owner) {
+        Product product = new Product();
+        product.setName(request.getName().trim());
+        product.setDescription(request.getDescription() != null ? request.getDescription().trim() : null);
+        product.setPrice(request.getPrice());
+        product.setQuantity(request.getQuantity());
+        product.setUserId(owner.getId());
+        return product;
+    }
+
+    /** {@code $set} of the fields present in the request (name and description trimmed). */
+    static Update toUpdate(ProductUpdateRequest request) {
+        Update update = new Update();
+        if (request.getName() != null) {
+            update.set("name", request.getName().trim());
+        }
+        if (request.getDescription() != null) {
+            update.set("description", request.getDescription().trim());
+        }
+        if (request.getPrice() != null) {
+            update.set("price", request.getPrice());
+        }
+        if (request.getQuantity() != null) {
+            update.set("quantity", request.getQuantity());
         }
+        return update;
     }
 
-    private ProductResponse toResponse(Product product) {
-        return new ProductResponse(
+    static ProductResponse toResponse(Product product) {
+        ProductResponse response = new ProductResponse(
                 product.getId(),
                 product.getName(),
                 product.getDescription(),
                 product.getPrice(),
                 product.getQuantity(),
                 product.getUserId());
+        response.setVersion(product.getVersion() != null ? product.getVersion() : 0);
+        return response;
     }
 }
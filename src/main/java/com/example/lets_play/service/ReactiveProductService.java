@@ -0,0 +1,244 @@
+package com.example.lets_play.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.lets_play.dto.ProductBatchGetResponse;
+import com.example.lets_play.dto.ProductCreateRequest;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductUpdateRequest;
+import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.dto.QuantityResponse;
+import com.example.lets_play.model.User;
+import com.example.lets_play.repository.ReactiveProductReadRepository;
+import com.example.lets_play.repository.ReactiveProductRepository;
+import com.example.lets_play.repository.ReactiveProductWriteRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ProductService} for the reactive serving mode: the same validation, access rules
+ * and responses, with every MongoDB round trip on the reactive driver.
+ * <ul>
+ *   <li>Hidden owners (pending cascade deletes) are shared with {@link ProductService}.</li>
+ *   <li>Page totals use {@link ProductCountCache} without its blocking loader: a missing counter is counted here and
+ *       seeded.</li>
+ *   <li>Reads go to MongoDB rather than {@link ProductCache}, whose loader blocks; writes still invalidate it.</li>
+ * </ul>
+ * Input is validated before any query is issued, so bad requests fail before a response starts.
+ * <p>
+ * Setup: optional {@code products.export.batch-size} (default 1000). Only active in the reactive serving mode.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveProductService {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReactiveProductRepository productRepository;
+
+    @Autowired
+    private ReactiveProductReadRepository productReads;
+
+    @Autowired
+    private ReactiveProductWriteRepository productWrites;
+
+    @Autowired
+    private ProductCountCache productCounts;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Value("${products.export.batch-size:1000}")
+    private int exportBatchSize;
+
+    /** As {@link ProductService#listProducts}. */
+    public Mono<ProductsResponse> listProducts(String userId, int page, int size, boolean includeTotal) {
+        boolean byOwner = userId != null && !userId.isBlank();
+        if (byOwner) {
+            ProductService.validateObjectId(userId);
+        }
+        int safeSize = Math.min(ProductService.MAX_PAGE_SIZE, Math.max(1, size));
+        int pageNumber = Math.max(0, page);
+        long offset = ProductService.pageOffset(pageNumber, safeSize);
+        String ownerId = byOwner ? userId.trim() : null;
+        if (byOwner && productService.isHidden(ownerId)) {
+            return Mono.just(includeTotal
+                    ? new ProductsResponse(List.of(), 0, 0, safeSize, pageNumber)
+                    : new ProductsResponse(List.of(), safeSize, pageNumber, false));
+        }
+
+        Set<String> hidden = productService.hiddenOwners();
+        return productReads.findPage(ownerId, hidden, offset, safeSize + 1).collectList().flatMap(rows -> {
+            boolean hasNext = rows.size() > safeSize;
+            List<ProductResponse> content = hasNext ? rows.subList(0, safeSize) : rows;
+            if (!includeTotal) {
+                return Mono.just(new ProductsResponse(content, safeSize, pageNumber, hasNext));
+            }
+            return count(ownerId, hidden).map(counted -> {
+                // A counter that lags behind must never contradict the page we just read
+                long total = Math.max(counted, offset + content.size() + (hasNext ? 1 : 0));
+                return new ProductsResponse(
+                        content,
+                        total,
+                        (int) Math.ceil((double) total / safeSize),
+                        safeSize,
+                        pageNumber);
+            });
+        });
+    }
+
+    /** As {@link ProductService#listProductsAfter}. */
+    public Mono<ProductsResponse> listProductsAfter(String userId, String afterId, int size) {
+        String ownerId = ownerId(userId);
+        String after = afterId(afterId);
+        int safeSize = Math.min(ProductService.MAX_PAGE_SIZE, Math.max(1, size));
+        if (ownerId != null && productService.isHidden(ownerId)) {
+            return Mono.just(new ProductsResponse(List.of(), safeSize, null));
+        }
+        return productReads.findAfter(ownerId, productService.hiddenOwners(), after, safeSize + 1).collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > safeSize;
+                    List<ProductResponse> content = hasNext ? rows.subList(0, safeSize) : rows;
+                    String nextCursor = hasNext
+                            ? ProductService.encodeCursor(content.get(content.size() - 1).getId())
+                            : null;
+                    return new ProductsResponse(content, safeSize, nextCursor);
+                });
+    }
+
+    /** As {@link ProductService#decodeCursor}. */
+    public String decodeCursor(String cursor) {
+        return productService.decodeCursor(cursor);
+    }
+
+    /**
+     * As {@link ProductService#streamProducts}. The cursor reads {@code products.export.batch-size} documents per
+     * round trip as the client consumes them, and is closed when the client disconnects.
+     */
+    public Flux<ProductResponse> streamProducts(String userId, String afterId) {
+        String ownerId = ownerId(userId);
+        String after = afterId(afterId);
+        if (ownerId != null && productService.isHidden(ownerId)) {
+            return Flux.empty();
+        }
+        return productReads.streamAfter(ownerId, productService.hiddenOwners(), after, exportBatchSize);
+    }
+
+    /** As {@link ProductService#getProductById}, read from MongoDB. */
+    public Mono<ProductResponse> getProductById(String id) {
+        ProductService.validateProductId(id);
+        return productReads.findById(id)
+                .filter(product -> !productService.isHidden(product.getUserId()))
+                .switchIfEmpty(Mono.error(
+                        () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found")));
+    }
+
+    /** As {@link ProductService#getProductsByIds}, with every product read by one {@code $in} query. */
+    public Mono<ProductBatchGetResponse> getProductsByIds(List<String> ids) {
+        Map<String, String> requested = ProductService.distinctIds(ids);
+        List<String> valid = requested.keySet().stream()
+                .filter(id -> id.matches(ProductService.OBJECT_ID_PATTERN))
+                .toList();
+        Mono<Map<String, ProductResponse>> products = valid.isEmpty()
+                ? Mono.just(Map.of())
+                : productReads.findByIds(valid).collectMap(ProductResponse::getId);
+        return products.map(found -> productService.toBatchResponse(requested, found));
+    }
+
+    /** As {@link ProductService#createProduct}. */
+    public Mono<ProductResponse> createProduct(ProductCreateRequest request, User currentUser) {
+        return productRepository.save(ProductService.newProduct(request, currentUser))
+                .doOnNext(product -> productCounts.adjust(product.getUserId(), 1))
+                .map(ProductService::toResponse);
+    }
+
+    /** As {@link ProductService#updateProduct}. */
+    public Mono<ProductResponse> updateProduct(
+            String id,
+            ProductUpdateRequest request,
+            User currentUser,
+            Long expectedVersion) {
+        ProductService.validateProductId(id);
+        if (!request.hasAnyField()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one field must be provided");
+        }
+        return productWrites.findAndUpdate(
+                        id, ProductService.ownerFilter(currentUser), expectedVersion, ProductService.toUpdate(request))
+                .doFinally(signal -> productCache.invalidate(id))
+                .map(ProductService::toResponse)
+                .switchIfEmpty(explainMiss(id, currentUser,
+                        () -> ProductService.concurrentModification(expectedVersion)));
+    }
+
+    /** As {@link ProductService#adjustQuantity}. */
+    public Mono<QuantityResponse> adjustQuantity(String id, int delta, User currentUser) {
+        ProductService.validateProductId(id);
+        return productWrites.adjustQuantity(id, ProductService.ownerFilter(currentUser), delta)
+                .doFinally(signal -> productCache.invalidate(id))
+                .map(product -> new QuantityResponse(id, product.getQuantity()))
+                .switchIfEmpty(explainMiss(id, currentUser,
+                        () -> new ResponseStatusException(
+                                HttpStatus.CONFLICT, "Insufficient quantity for product " + id)));
+    }
+
+    /** As {@link ProductService#deleteProduct}. */
+    public Mono<Void> deleteProduct(String id, User currentUser, Long expectedVersion) {
+        ProductService.validateProductId(id);
+        return productWrites.findAndRemove(id, ProductService.ownerFilter(currentUser), expectedVersion)
+                .doFinally(signal -> productCache.invalidate(id))
+                .switchIfEmpty(explainMiss(id, currentUser,
+                        () -> ProductService.concurrentModification(expectedVersion)))
+                .doOnNext(removed -> productCounts.adjust(removed.getUserId(), -1))
+                .then();
+    }
+
+    /** Maintained count, or a count query whose result seeds the counter. */
+    private Mono<Long> count(String ownerId, Set<String> hidden) {
+        OptionalLong cached = productCounts.peek(ownerId);
+        if (cached.isPresent()) {
+            return Mono.just(cached.getAsLong());
+        }
+        Mono<Long> counted = ownerId != null ? productRepository.countByUserId(ownerId) : productReads.count(hidden);
+        return counted.map(count -> productCounts.seed(ownerId, count));
+    }
+
+    /** Fails with the reason a conditional write matched nothing, as {@code ProductService.explainMiss}. */
+    private <T> Mono<T> explainMiss(String id, User currentUser, Supplier<RuntimeException> otherwise) {
+        return productReads.findOwner(id)
+                .map(current -> ProductService.missReason(current, currentUser, otherwise.get()))
+                .switchIfEmpty(Mono.fromSupplier(() -> ProductService.missReason(null, currentUser, null)))
+                .flatMap(reason -> Mono.<T>error(reason));
+    }
+
+    /** Trimmed owner filter, or null for all owners; 400 if malformed. */
+    private static String ownerId(String userId) {
+        if (userId == null || userId.isBlank()) {
+            return null;
+        }
+        ProductService.validateObjectId(userId);
+        return userId.trim();
+    }
+
+    /** Keyset position to read after; 400 if malformed. */
+    private static String afterId(String afterId) {
+        String after = afterId != null && !afterId.isBlank() ? afterId.trim() : ProductService.MIN_OBJECT_ID;
+        if (!after.matches(ProductService.OBJECT_ID_PATTERN)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        return after;
+    }
+}
@@ -11,16 +11,19 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import com.example.lets_play.model.User;
-import com.example.lets_play.repository.UserRepository;
+import com.example.lets_play.model.UserSnapshot;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 
 /**
  * JWT validation (with user lookup and claim consistency), current-user helpers, and conversion to Spring Security
- * {@link Authentication}. Used by {@link com.example.lets_play.filter.JwtAuthenticationFilter} and controllers.
+ * {@link Authentication}. Used by {@link com.example.lets_play.filter.JwtAuthenticationFilter},
+ * {@link com.example.lets_play.filter.ReactiveJwtAuthenticationFilter} and controllers.
+ * In stateless mode ({@code security.auth.mode=stateless}) the user lookup is replaced by a check of the token's
+ * {@code tokenVersion} claim against {@link TokenVersionTable}, and the principal is built from the claims.
  * <p>
- * Setup: none; depends on {@link JwtService} and {@link UserRepository}.
+ * Setup: none; depends on {@link JwtService}, {@link UserDirectory}, {@link TokenVersionTable} and {@link TokenAuthenticationCache}.
  */
 @Service
 public class SecurityService {
@@ -29,45 +32,124 @@ public class SecurityService {
     private JwtService jwtService;
 
     @Autowired
-    private UserRepository userRepository;
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private TokenAuthenticationCache tokenCache;
+
+    @Autowired
+    private TokenVersionTable tokenVersions;
 
     /** Validates JWT, loads user by subject id, and checks email/role match claims; returns empty if invalid or user missing. */
     public Optional<User> validateTokenAndLoadUser(String token) {
+        try {
+            return loadUser(jwtService.getClaims(token));
+        } catch (JwtException| IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Converts a valid token into an {@link Authentication} with principal=User and ROLE_* authority.
+     * Verified tokens are served from {@link TokenAuthenticationCache} until they expire or the user changes.
+     */
+    public Optional<Authentication> getAuthentication(String token) {
+        Optional<Authentication> cached = tokenCache.get(token);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long epoch = tokenCache.currentEpoch();
         try {
             Claims claims = jwtService.getClaims(token);
+            return loadUser(claims)
+                .map(user -> {
+                    String role = user.getRole().name();
+                    var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+
+                    Authentication auth = new UsernamePasswordAuthenticationToken(
+                        user, null, authorities);
+                    tokenCache.put(token, auth, user.getId(), claims.getExpiration(), epoch);
+                    return auth;
+                });
+        } catch (JwtException| IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
-            String userId = claims.getSubject();
-            if (userId == null) { return Optional.empty(); }
+    /**
+     * Id of the user that {@link #getAuthentication} would have to load from MongoDB for this token; empty if the
+     * call can be answered from memory (cached token, user in the token version table or the directory, or an invalid
+     * token).
+     * Lets non-blocking callers load the user themselves and put it in the {@link UserDirectory} first.
+     */
+    public Optional<String> userToLoad(String token) {
+        if (tokenCache.get(token).isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            String userId = jwtService.getClaims(token).getSubject();
+            if (userId == null || statelessFor(userId)) {
+                return Optional.empty();
+            }
+            return !userDirectory.isCached(userId) ? Optional.of(userId) : Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
 
-            Optional<User> userOpt = userRepository.findById(userId);
-            if (userOpt.isEmpty()) { return Optional.empty(); }
+    /**
+     * Loads the user named by the verified claims from {@link UserDirectory} and checks that email/role still match;
+     * empty otherwise. The returned principal is a password-free copy of the directory snapshot.
+     */
+    private Optional<User> loadUser(Claims claims) {
+        String userId = claims.getSubject();
+        if (userId == null) { return Optional.empty(); }
 
-            User user = userOpt.get();
+        if (statelessFor(userId)) {
+            return userFromClaims(userId, claims);
+        }
 
-            String tokenEmail = claims.get("email", String.class);
-            String tokenRole = claims.get("role", String.class);
+        Optional<UserSnapshot> userOpt = userDirectory.find(userId);
+        if (userOpt.isEmpty()) { return Optional.empty(); }
 
-            String userRole = user.getRole().name();
-            if (!user.getEmail().equals(tokenEmail) || !userRole.equals(tokenRole)) {
-                return Optional.empty();
-            }
+        UserSnapshot user = userOpt.get();
 
-            return Optional.of(user);
-        } catch (JwtException| IllegalArgumentException e) {
+        String tokenEmail = claims.get("email", String.class);
+        String tokenRole = claims.get("role", String.class);
+
+        String userRole = user.role().name();
+        if (!user.email().equals(tokenEmail) || !userRole.equals(tokenRole)) {
             return Optional.empty();
         }
+
+        return Optional.of(user.toUser());
     }
 
-    /** Converts a valid token into an {@link Authentication} with principal=User and ROLE_* authority. */
-    public Optional<Authentication> getAuthentication(String token) {
-        return validateTokenAndLoadUser(token)
-            .map(user -> {
-                String role = user.getRole().name();
-                var authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-
-                return new UsernamePasswordAuthenticationToken(
-                    user, null, authorities);
-            });
+    /** True if the token version table can validate this user's tokens; ids it does not know use the lookup. */
+    private boolean statelessFor(String userId) {
+        return tokenVersions.isReady() && tokenVersions.contains(userId);
+    }
+
+    /**
+     * Stateless validation: accepts the claims only if their {@code tokenVersion} is the user's current one, which
+     * guarantees email and role in the token are still accurate. Principal has id, email and role (no name).
+     */
+    private Optional<User> userFromClaims(String userId, Claims claims) {
+        Long tokenVersion = claims.get("tokenVersion", Long.class);
+        String tokenEmail = claims.get("email", String.class);
+        String tokenRole = claims.get("role", String.class);
+        if (tokenVersion == null || tokenEmail == null || tokenRole == null
+                || !tokenVersions.matches(userId, tokenVersion)) {
+            return Optional.empty();
+        }
+
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(tokenEmail);
+        user.setRole(User.Role.valueOf(tokenRole));
+        user.setTokenVersion(tokenVersion);
+        return Optional.of(user);
     }
 
     /**
@@ -0,0 +1,126 @@
+package com.example.lets_play.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Bounded cache of verified JWTs. Maps a SHA-256 digest of the raw token to the {@link Authentication} resolved by
+ * {@link SecurityService}, so repeated requests with the same token skip signature verification and the user lookup.
+ * Entries expire at the token's {@code exp} (capped by {@code security.token-cache.max-ttl-ms}) and are evicted
+ * when the owning user is updated or deleted (see {@link UserService}).
+ * <p>
+ * The cache is per instance; the TTL cap bounds how long another node's user change can go unnoticed here.
+ * <p>
+ * Setup: optional {@code security.token-cache.max-size} (default 10000) and {@code security.token-cache.max-ttl-ms}
+ * (default 60000).
+ */
+@Component
+public class TokenAuthenticationCache {
+
+    private final Cache<String, Entry> cache;
+    private final long maxTtlMs;
+
+    /** Bumped on every user eviction; a validation that started before a bump must not be cached. */
+    private final AtomicLong epoch = new AtomicLong();
+
+    /** Cached authentication plus the owning user id (for eviction) and absolute expiry. */
+    private record Entry(Authentication authentication, String userId, long expiresAtMs) {}
+
+    public TokenAuthenticationCache(
+            @Value("${security.token-cache.max-size:10000}") long maxSize,
+            @Value("${security.token-cache.max-ttl-ms:60000}") long maxTtlMs) {
+        this.maxTtlMs = maxTtlMs;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        long ttlMs = Math.min(entry.expiresAtMs() - System.currentTimeMillis(), TokenAuthenticationCache.this.maxTtlMs);
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /** Returns the cached authentication for this token, or empty if not cached or already expired. */
+    public Optional<Authentication> get(String token) {
+        Entry entry = cache.getIfPresent(digest(token));
+        if (entry == null || entry.expiresAtMs() <= System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        return Optional.of(entry.authentication());
+    }
+
+    /** Current eviction epoch; read it before validating a token and pass it to {@link #put}. */
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Caches a freshly verified token until {@code expiresAt}. If any user was evicted since {@code epochAtValidation},
+     * the user's entries are dropped again, so a validation racing with an update cannot leave stale state behind.
+     */
+    public void put(String token, Authentication authentication, String userId, Date expiresAt, long epochAtValidation) {
+        if (expiresAt == null || maxTtlMs <= 0) {
+            return;
+        }
+        cache.put(digest(token), new Entry(authentication, userId, expiresAt.getTime()));
+        if (epoch.get() != epochAtValidation) {
+            removeEntriesOf(userId);
+        }
+    }
+
+    /** Drops every cached token of the given user (email, role, password changed or user deleted). */
+    public void evictUser(String userId) {
+        if (userId == null) {
+            return;
+        }
+        epoch.incrementAndGet();
+        removeEntriesOf(userId);
+    }
+
+    /** Underlying cache (for metrics binding). */
+    public Cache<String, ?> nativeCache() {
+        return cache;
+    }
+
+    private void removeEntriesOf(String userId) {
+        cache.asMap().values().removeIf(entry -> userId.equals(entry.userId()));
+    }
+
+    /** SHA-256 of the token, Base64 encoded; the raw token is never kept in memory by the cache. */
+    private static String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.lets_play.service;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.lets_play.model.User;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+
+/**
+ * Compact in-memory table of user id → {@code tokenVersion}, used by {@link SecurityService} in stateless mode
+ * ({@code security.auth.mode=stateless}) to validate tokens without loading the user from MongoDB.
+ * <p>
+ * Loaded once from the {@code _id, tokenVersion} projection of {@code users}, then kept current incrementally:
+ * <ul>
+ *   <li>{@link UserService}, {@link AuthService} and the admin seed call {@link #put} / {@link #remove} after
+ *       persisting. Besides updating this table, each call upserts the user's entry in {@value #CHANGES}
+ *       ({@code tokenVersion} raised with {@code $max}, or {@code deleted}), stamped with the server's
+ *       {@code changedAt}. Every instance records its changes, whatever its mode.</li>
+ *   <li>Every {@code security.auth.stateless.poll-interval-ms}, the entries changed since the newest {@code changedAt}
+ *       seen (less {@value #OVERLAP_MS} ms for writes that were in flight) are read through the {@code changedAt}
+ *       index and merged in.</li>
+ * </ul>
+ * Versions only move forward and deletes are tombstoned, so re-reading a change is harmless.
+ * <p>
+ * Revocation across instances: a password, email or role change, or a delete, takes effect at once on the instance
+ * that made it, and on the others at their next poll. For up to {@code poll-interval-ms} (default 1s) they still
+ * accept tokens carrying the old {@code tokenVersion}. A change whose entry could not be recorded (logged as a warning)
+ * reaches them only when they restart.
+ * <p>
+ * Setup: {@code security.auth.mode} ({@code lookup} default, or {@code stateless}) and optional
+ * {@code security.auth.stateless.poll-interval-ms} (default 1000). Until the first load completes,
+ * {@link #isReady()} is false and SecurityService keeps using the user lookup; after that it still uses the lookup for
+ * ids the table does not know ({@link #contains}), e.g. users created on another instance since the last poll.
+ */
+@Component
+public class TokenVersionTable {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenVersionTable.class);
+
+    /** Collection of per-user token version changes, polled by every instance. */
+    static final String CHANGES = "token_version_changes";
+
+    /** How far a poll reaches back before the newest change seen, for changes stamped before it but committed after. */
+    static final long OVERLAP_MS = 5000;
+
+    /** Tombstone for a deleted user. */
+    private static final long DELETED = -1L;
+
+    private final ConcurrentHashMap<ObjectId, Long> versions = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private volatile boolean ready;
+    /** Newest {@code changedAt} applied; written by the polling thread only. */
+    private Date watermark;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public TokenVersionTable(@Value("${security.auth.mode:lookup}") String mode) {
+        this.enabled = "stateless".equalsIgnoreCase(mode.trim());
+    }
+
+    /** True when stateless mode is configured and the table has been loaded at least once. */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /** True if the table has an entry for the user: a version, or a tombstone if the user was deleted. */
+    public boolean contains(String userId) {
+        ObjectId key = toKey(userId);
+        return key != null && versions.containsKey(key);
+    }
+
+    /** True if the user exists and the token's version equals the current one. */
+    public boolean matches(String userId, long tokenVersion) {
+        ObjectId key = toKey(userId);
+        if (key == null) {
+            return false;
+        }
+        Long current = versions.get(key);
+        return current != null && current != DELETED && current == tokenVersion;
+    }
+
+    /** Records the persisted token version of a created or updated user, here and for the other instances. */
+    public void put(User user) {
+        ObjectId key = toKey(user.getId());
+        if (key == null) {
+            return;
+        }
+        if (enabled) {
+            versions.merge(key, user.getTokenVersion(), TokenVersionTable::newer);
+        }
+        recordChange(key, new Update().max("tokenVersion", user.getTokenVersion()));
+    }
+
+    /** Marks a user as deleted; their tokens are rejected immediately here, and by the others after their next poll. */
+    public void remove(String userId) {
+        ObjectId key = toKey(userId);
+        if (key == null) {
+            return;
+        }
+        if (enabled) {
+            versions.put(key, DELETED);
+        }
+        recordChange(key, new Update().set("deleted", true));
+    }
+
+    /** Loads the table on the first run (retried until it succeeds), then applies the changes recorded since. */
+    @Scheduled(fixedDelayString = "${security.auth.stateless.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (ready) {
+                applyChanges();
+            } else {
+                load();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Token version {} failed: {}", ready ? "poll" : "load", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the id → version projection of every user. The watermark is taken first, so changes made during the scan
+     * are applied afterwards.
+     */
+    private void load() {
+        MongoCollection<Document> changes = mongoTemplate.getCollection(CHANGES);
+        changes.createIndex(Indexes.ascending("changedAt"));
+        Document newest = changes.find().sort(Sorts.descending("changedAt")).limit(1).first();
+        Date start = newest != null ? newest.getDate("changedAt") : new Date(0);
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .find()
+                .projection(Projections.include("tokenVersion"))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document doc = cursor.next();
+                Number version = doc.get("tokenVersion", Number.class);
+                versions.merge(doc.getObjectId("_id"), version != null ? version.longValue() : 0L,
+                        TokenVersionTable::newer);
+            }
+        }
+        watermark = start;
+        applyChanges();
+        ready = true;
+        log.info("Token version table loaded ({} users); stateless authentication active", versions.size());
+    }
+
+    /** Merges the changes stamped at or after the watermark less the overlap, and advances the watermark. */
+    private void applyChanges() {
+        Date newest = watermark;
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(CHANGES)
+                .find(Filters.gte("changedAt", new Date(watermark.getTime() - OVERLAP_MS)))
+                .iterator()) {
+            while (cursor.hasNext()) {
+                Document change = cursor.next();
+                ObjectId id = change.getObjectId("_id");
+                if (change.getBoolean("deleted", false)) {
+                    versions.put(id, DELETED);
+                } else {
+                    Number version = change.get("tokenVersion", Number.class);
+                    versions.merge(id, version != null ? version.longValue() : 0L, TokenVersionTable::newer);
+                }
+                Date changedAt = change.getDate("changedAt");
+                if (changedAt != null && changedAt.after(newest)) {
+                    newest = changedAt;
+                }
+            }
+        }
+        watermark = newest;
+    }
+
+    /** Upserts the user's change entry; a failure is logged, since the user write itself has already succeeded. */
+    private void recordChange(ObjectId id, Update update) {
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(id)), update.currentDate("changedAt"), CHANGES);
+        } catch (RuntimeException e) {
+            log.warn("Could not record the token version change of user {}: {}", id, e.getMessage());
+        }
+    }
+
+    /** Merge rule: tombstones win, otherwise the higher version. */
+    private static Long newer(Long current, Long candidate) {
+        if (current == DELETED) {
+            return current;
+        }
+        return Math.max(current, candidate);
+    }
+
+    private static ObjectId toKey(String userId) {
+        return userId != null && ObjectId.isValid(userId) ? new ObjectId(userId) : null;
+    }
+}
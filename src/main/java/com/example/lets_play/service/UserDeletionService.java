@@ -0,0 +1,254 @@
+package com.example.lets_play.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.lets_play.dto.DeletionJobResponse;
+import com.example.lets_play.model.DeletionJob;
+import com.example.lets_play.model.User;
+import com.example.lets_play.repository.DeletionJobRepository;
+import com.example.lets_play.repository.ProductRepository;
+import com.example.lets_play.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cascade delete of a deleted user's products, off the request path. {@link UserService#deleteUser} records a
+ * {@link DeletionJob} and hides the user's products ({@link ProductService#hideOwner}) before it removes the user
+ * document; a single background worker then removes the products in batches of {@code users.deletion.batch-size},
+ * pausing {@code batch-delay-ms} between batches so the cascade never monopolizes MongoDB.
+ * <p>
+ * Jobs are claimed with a lease ({@code lease-ms}) that is renewed after every batch, so at most one instance works on
+ * a job and a job left behind by a crash or restart is picked up again once its lease expires. Every step is
+ * idempotent, and the worker deletes the user document again before the products, so resuming is always safe, even
+ * after a crash between recording the job and deleting the user.
+ * <p>
+ * The hidden owners are the pending jobs in MongoDB: they are loaded before the application starts serving (startup
+ * fails if they cannot be read) and re-read every {@code hidden-refresh-ms}, so jobs started or finished on other
+ * instances are hidden (or unhidden) here within that interval.
+ * <p>
+ * Setup: optional {@code users.deletion.batch-size} (default 1000), {@code users.deletion.batch-delay-ms}
+ * (default 200), {@code users.deletion.poll-interval-ms} (default 10000), {@code users.deletion.lease-ms}
+ * (default 60000), {@code users.deletion.hidden-refresh-ms} (default 1000).
+ */
+@Service
+public class UserDeletionService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(UserDeletionService.class);
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    private DeletionJobRepository jobRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${users.deletion.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${users.deletion.batch-delay-ms:200}")
+    private long batchDelayMs;
+
+    @Value("${users.deletion.poll-interval-ms:10000}")
+    private long pollIntervalMs;
+
+    @Value("${users.deletion.lease-ms:60000}")
+    private long leaseMs;
+
+    /** Loads the hidden owners before any request is served; a failure aborts startup. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        syncHiddenOwners();
+        log.info("Hiding products of {} user(s) with a pending deletion", productService.hiddenOwners().size());
+    }
+
+    /** Re-reads the pending jobs to hide (or unhide) owners whose jobs started or finished on other instances. */
+    @Scheduled(
+            initialDelayString = "${users.deletion.hidden-refresh-ms:1000}",
+            fixedDelayString = "${users.deletion.hidden-refresh-ms:1000}")
+    public void refreshHiddenOwners() {
+        try {
+            syncHiddenOwners();
+        } catch (RuntimeException e) {
+            log.warn("Hidden owner refresh failed, retrying later: {}", e.getMessage());
+        }
+    }
+
+    /** Starts polling for pending jobs (including ones left unfinished by a previous run). */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        worker.scheduleWithFixedDelay(this::drain, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Records the cascade delete for a user that is about to be removed and hides their products immediately.
+     * The job is persisted before returning, so it survives a restart; the caller deletes the user afterwards.
+     */
+    public void schedule(User user) {
+        DeletionJob job = new DeletionJob();
+        job.setId(user.getId());
+        job.setEmail(user.getEmail());
+        job.setStatus(DeletionJob.Status.PENDING);
+        job.setCreatedAt(Instant.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        jobRepository.save(job);
+        productService.hideOwner(user.getId());
+        try {
+            worker.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // shutting down; the next start resumes the job
+        }
+    }
+
+    /** All jobs, newest first, with the number of products still to remove for pending ones. */
+    public List<DeletionJobResponse> listJobs() {
+        return jobRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /** The job of one deleted user, if any. */
+    public Optional<DeletionJobResponse> findJob(String userId) {
+        return jobRepository.findById(userId).map(this::toResponse);
+    }
+
+    /** One worker pass: run every claimable job to completion. Never throws. */
+    void drain() {
+        try {
+            DeletionJob job;
+            while (!Thread.currentThread().isInterrupted() && (job = claim()) != null) {
+                run(job);
+            }
+        } catch (RuntimeException e) {
+            log.warn("User deletion pass failed, retrying later: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the user (a no-op unless a crash came between recording the job and deleting the user), then their
+     * products batch by batch until none are left or the lease is lost.
+     */
+    private void run(DeletionJob job) {
+        log.info("Deleting products of user {} (already removed: {})", job.getId(), job.getDeletedProducts());
+        userRepository.deleteById(job.getId());
+        while (!Thread.currentThread().isInterrupted()) {
+            long deleted = productService.deleteBatchByOwner(job.getId(), batchSize);
+            if (deleted == 0) {
+                complete(job);
+                return;
+            }
+            if (!recordProgress(job, deleted)) {
+                log.warn("Lost lease on deletion job {}; another instance continues it", job.getId());
+                return;
+            }
+            try {
+                Thread.sleep(batchDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void syncHiddenOwners() {
+        Set<String> before = productService.hiddenOwners();
+        Set<String> pending = jobRepository.findByStatus(DeletionJob.Status.PENDING).stream()
+                .map(DeletionJob::getId)
+                .collect(Collectors.toSet());
+        productService.syncHiddenOwners(before, pending);
+    }
+
+    /** Atomically takes a pending job whose lease has expired (or was never set). */
+    private DeletionJob claim() {
+        long now = System.currentTimeMillis();
+        return mongoTemplate.findAndModify(
+                Query.query(Criteria.where("status").is(DeletionJob.Status.PENDING).and("leaseUntil").lt(now)),
+                new Update().set("leaseUntil", now + leaseMs),
+                FindAndModifyOptions.options().returnNew(true),
+                DeletionJob.class);
+    }
+
+    /** Adds to the progress counter and renews the lease, only while this worker still holds it. */
+    private boolean recordProgress(DeletionJob job, long deleted) {
+        long lease = System.currentTimeMillis() + leaseMs;
+        long modified = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(job.getId()).and("leaseUntil").is(job.getLeaseUntil())),
+                new Update().inc("deletedProducts", deleted).set("updatedAt", Instant.now()).set("leaseUntil", lease),
+                DeletionJob.class).getModifiedCount();
+        if (modified == 0) {
+            return false;
+        }
+        job.setLeaseUntil(lease);
+        job.setDeletedProducts(job.getDeletedProducts() + deleted);
+        return true;
+    }
+
+    private void complete(DeletionJob job) {
+        Instant now = Instant.now();
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(job.getId())),
+                new Update().set("status", DeletionJob.Status.DONE)
+                        .set("completedAt", now)
+                        .set("updatedAt", now)
+                        .set("leaseUntil", 0L),
+                DeletionJob.class);
+        productService.unhideOwner(job.getId());
+        log.info("Deleted all {} products of user {}", job.getDeletedProducts(), job.getId());
+    }
+
+    private DeletionJobResponse toResponse(DeletionJob job) {
+        Long remaining = job.getStatus() == DeletionJob.Status.PENDING
+                ? productRepository.countByUserId(job.getId())
+                : null;
+        return new DeletionJobResponse(
+                job.getId(),
+                job.getEmail(),
+                job.getStatus().name(),
+                job.getDeletedProducts(),
+                remaining,
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                job.getCompletedAt());
+    }
+}
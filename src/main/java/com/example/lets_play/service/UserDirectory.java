@@ -0,0 +1,77 @@
+package com.example.lets_play.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.lets_play.config.ThreadingConfig;
+import com.example.lets_play.model.User;
+import com.example.lets_play.model.UserSnapshot;
+import com.example.lets_play.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Size-bounded, TTL-based in-process directory of users by id ({@link UserSnapshot}), shared by
+ * {@link SecurityService} and {@link UserService} so the per-request user lookup does not hit MongoDB.
+ * Misses load from {@link UserRepository} on {@link com.example.lets_play.config.ThreadingConfig#CACHE_LOADS};
+ * unknown ids are not cached. Writers ({@link UserService}, {@link AuthService},
+ * {@link com.example.lets_play.AdminSeedRunner}) must call {@link #put} or {@link #invalidate} after persisting.
+ * Hit/miss/eviction counters are published as {@code cache.*} metrics with {@code cache=userDirectory}.
+ * <p>
+ * Setup: optional {@code user-directory.max-size} (default 10000) and {@code user-directory.ttl-ms} (default 300000).
+ * The TTL bounds how long a change made on another instance can go unnoticed here.
+ */
+@Component
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, UserSnapshot> cache;
+
+    @Autowired
+    public UserDirectory(
+            UserRepository userRepository,
+            @Qualifier(ThreadingConfig.CACHE_LOADS) Executor loadExecutor,
+            @Value("${user-directory.max-size:10000}") long maxSize,
+            @Value("${user-directory.ttl-ms:300000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .executor(loadExecutor)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /** Returns the user with the given id, loading it from MongoDB on a miss; empty if no such user. */
+    public Optional<UserSnapshot> find(String id) {
+        return Optional.ofNullable(CacheLoads.join(cache.get(id,
+                key -> userRepository.findById(key).map(UserSnapshot::of).orElse(null))));
+    }
+
+    /** True if the user is in memory, i.e. {@link #find} would neither query MongoDB nor wait for a load. */
+    public boolean isCached(String id) {
+        return CacheLoads.ifReady(cache.getIfPresent(id)) != null;
+    }
+
+    /** Records the persisted state of a created or updated user. */
+    public void put(User user) {
+        cache.synchronous().put(user.getId(), UserSnapshot.of(user));
+    }
+
+    /** Forgets a user (e.g. after delete). */
+    public void invalidate(String id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /** Underlying cache (for metrics binding). */
+    public Cache<String, UserSnapshot> nativeCache() {
+        return cache.synchronous();
+    }
+}
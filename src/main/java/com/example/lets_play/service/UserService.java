@@ -7,7 +7,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -15,11 +14,12 @@ import com.example.lets_play.dto.UserCreateRequest;
 import com.example.lets_play.dto.UserResponse;
 import com.example.lets_play.dto.UserUpdateRequest;
 import com.example.lets_play.model.User;
+import com.example.lets_play.model.UserSnapshot;
 import com.example.lets_play.repository.UserRepository;
 
 /**
  * User CRUD and business rules. Who may call each method is enforced by controllers via @PreAuthorize;
- * this service assumes the caller is already authorized. Deletes cascade to products via {@link ProductService#deleteByUserId}.
+ * this service assumes the caller is already authorized. Deletes cascade to products in the background via {@link UserDeletionService}.
  * <p>
  * Setup: {@code admin.seed.email} (optional) identifies the default admin; that user cannot be deleted and only password can be updated.
  */
@@ -32,11 +32,20 @@ public class UserService {
     private UserRepository userRepository;
 
     @Autowired
-    private ProductService productService;
+    private UserDeletionService userDeletion;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
-    
+    private PasswordHashingService passwordHashing;
+
+    @Autowired
+    private TokenAuthenticationCache tokenCache;
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private TokenVersionTable tokenVersions;
+
     @Value("${admin.seed.email}")
     private String defaultAdminEmail;
 
@@ -55,19 +64,21 @@ public class UserService {
         User user = new User();
         user.setName(request.getName());
         user.setEmail(request.getEmail().trim().toLowerCase());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashing.encode(request.getPassword()));
         user.setRole(role);
 
         user = userRepository.save(user);
+        userDirectory.put(user);
+        tokenVersions.put(user);
         return toResponse(user);
     }
 
-    /** Admin or self (enforced by controller @PreAuthorize). Returns user by id; 404 if not found. */
+    /** Admin or self (enforced by controller @PreAuthorize). Returns user by id from {@link UserDirectory}; 404 if not found. */
     public UserResponse getUserById(String id) {
         validateObjectId(id);
-        User user = userRepository.findById(id)
+        UserSnapshot user = userDirectory.find(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        return toResponse(user);
+        return new UserResponse(user.id(), user.name(), user.email(), user.role().name());
     }
 
     /** Admin or self (enforced by controller @PreAuthorize). Admins may update USER or self only; cannot update another admin. At least one field required. */
@@ -85,12 +96,17 @@ public class UserService {
             throw new AccessDeniedException("Cannot update another admin");
         }
 
+        String oldEmail = user.getEmail();
+        User.Role oldRole = user.getRole();
+        boolean passwordChanged = false;
+
         if (isDefaultAdmin) {
             if (request.getName() != null || request.getEmail() != null || request.getRole() != null) {
                 throw new AccessDeniedException("Only password can be updated for default admin");
             }
             if (request.getPassword() != null && !request.getPassword().isBlank()) {
-                user.setPassword(passwordEncoder.encode(request.getPassword()));
+                user.setPassword(passwordHashing.encode(request.getPassword()));
+                passwordChanged = true;
             }
         } else {
             if (request.getName() != null) {
@@ -104,7 +120,8 @@ public class UserService {
                 user.setEmail(newEmail);
             }
             if (request.getPassword() != null && !request.getPassword().isBlank()) {
-                user.setPassword(passwordEncoder.encode(request.getPassword()));
+                user.setPassword(passwordHashing.encode(request.getPassword()));
+                passwordChanged = true;
             }
             if (request.getRole() != null) {
                 if (currentUser.getRole() != User.Role.ADMIN) {
@@ -114,11 +131,20 @@ public class UserService {
             }
         }
 
+        // Invalidate previously issued tokens when anything they vouch for changes
+        if (passwordChanged || !user.getEmail().equals(oldEmail) || user.getRole() != oldRole) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+
         user = userRepository.save(user);
+        userDirectory.put(user);
+        tokenVersions.put(user);
+        tokenCache.evictUser(id);
         return toResponse(user);
     }
 
-    /** Admin or self (enforced by controller). Admins may delete users only; an admin may delete another admin only if isSelf. Default admin cannot be deleted. */
+    /** Admin or self (enforced by controller). Admins may delete users only; an admin may delete another admin only if isSelf. Default admin cannot be deleted.
+     *  The user's products are hidden at once and removed in the background ({@link UserDeletionService}). */
     public void deleteUser(String id, boolean isSelf) {
         validateObjectId(id);
         User user = userRepository.findById(id)
@@ -130,8 +156,12 @@ public class UserService {
         if (user.getRole() == User.Role.ADMIN && !isSelf) {
             throw new AccessDeniedException("Cannot delete another admin");
         }
-        productService.deleteByUserId(id);
+        // Job and hidden products first: a crash after this point leaves a job that finishes the deletion
+        userDeletion.schedule(user);
         userRepository.deleteById(id);
+        userDirectory.invalidate(id);
+        tokenVersions.remove(id);
+        tokenCache.evictUser(id);
     }
 
     private void validateObjectId(String id) {
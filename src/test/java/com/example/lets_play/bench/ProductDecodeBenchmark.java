@@ -0,0 +1,110 @@
+package com.example.lets_play.bench;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.model.Product;
+import com.example.lets_play.repository.ProductResponseCodec;
+
+/**
+ * Decode cost of one product page, from raw BSON (as received from the server) to {@link ProductResponse}:
+ * <ul>
+ *   <li>{@code entityPath}: driver {@link Document} → {@link MappingMongoConverter} → {@link Product} → response
+ *       (the former repository path)</li>
+ *   <li>{@code codecPath}: {@link ProductResponseCodec} straight from the BSON stream (ProductReadRepository)</li>
+ * </ul>
+ * Run with the GC profiler to compare allocation per page:
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbench="ProductDecodeBenchmark -prof gc"}
+ * ({@code gc.alloc.rate.norm} is bytes per page).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductDecodeBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final ProductResponseCodec responseCodec = new ProductResponseCodec();
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+    private MappingMongoConverter converter;
+    private List<byte[]> page;
+
+    @Setup
+    public void setup() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        page = new ArrayList<>(pageSize);
+        ObjectId owner = new ObjectId();
+        for (int i = 0; i < pageSize; i++) {
+            Document product = new Document("_id", new ObjectId())
+                    .append("name", "Product " + i)
+                    .append("description", "A reasonably sized description for product number " + i)
+                    .append("price", 19.99 + i)
+                    .append("quantity", i * 3)
+                    .append("userId", owner.toHexString())
+                    .append("_class", Product.class.getName());
+            RawBsonDocument raw = new RawBsonDocument(product, documentCodec);
+            byte[] bytes = new byte[raw.getByteBuffer().remaining()];
+            raw.getByteBuffer().get(bytes);
+            page.add(bytes);
+        }
+    }
+
+    @Benchmark
+    public List<ProductResponse> entityPath() {
+        List<ProductResponse> responses = new ArrayList<>(page.size());
+        for (byte[] bytes : page) {
+            Document document = documentCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), decoderContext);
+            Product product = converter.read(Product.class, document);
+            responses.add(new ProductResponse(
+                    product.getId(),
+                    product.getName(),
+                    product.getDescription(),
+                    product.getPrice(),
+                    product.getQuantity(),
+                    product.getUserId()));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ProductResponse> codecPath() {
+        List<ProductResponse> responses = new ArrayList<>(page.size());
+        for (byte[] bytes : page) {
+            responses.add(responseCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), decoderContext));
+        }
+        return responses;
+    }
+}
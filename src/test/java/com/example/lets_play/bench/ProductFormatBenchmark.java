@@ -0,0 +1,116 @@
+package com.example.lets_play.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.lets_play.controller.ProductProtobuf;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.proto.ProductProtos;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+/**
+ * Pages per second, encoding and decoding a 100-product page in each body format the product API offers. JSON, CBOR
+ * and Smile go through Jackson bean (de)serialization of {@link ProductsResponse}, as the message converters do;
+ * Protobuf through the generated codecs, with the mapping to and from the DTOs included. The payload size of each
+ * format is printed at the start of its trial.
+ * <p>
+ * Run: {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbench="ProductFormatBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductFormatBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    public enum Format { JSON, CBOR, SMILE, PROTOBUF }
+
+    @Param
+    public Format format;
+
+    private ObjectMapper mapper;
+    private ProductsResponse page;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        mapper = switch (format) {
+            case CBOR -> CBORMapper.builder().build();
+            case SMILE -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        List<ProductResponse> content = new ArrayList<>(PAGE_SIZE);
+        String owner = new ObjectId().toHexString();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(new ProductResponse(
+                    new ObjectId().toHexString(),
+                    "Product " + i,
+                    "A reasonably sized description for product number " + i,
+                    19.99 + i,
+                    i * 3,
+                    owner));
+        }
+        page = new ProductsResponse(content, 1000, 1000 / PAGE_SIZE, PAGE_SIZE, 0);
+        encoded = serialize().toByteArray();
+        System.out.printf("%n%s payload (%d products): %d bytes%n", format, PAGE_SIZE, encoded.length);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream serialize() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16384);
+        if (format == Format.PROTOBUF) {
+            ProductProtobuf.toMessage(page).writeTo(out);
+        } else {
+            mapper.writeValue(out, page);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public ProductsResponse deserialize() throws IOException {
+        if (format == Format.PROTOBUF) {
+            return fromMessage(ProductProtos.ProductPage.parseFrom(encoded));
+        }
+        return mapper.readValue(encoded, ProductsResponse.class);
+    }
+
+    /** What a Java client of the Protobuf API does to get the DTOs back. */
+    private static ProductsResponse fromMessage(ProductProtos.ProductPage message) {
+        List<ProductResponse> content = new ArrayList<>(message.getContentCount());
+        for (ProductProtos.Product product : message.getContentList()) {
+            content.add(new ProductResponse(
+                    product.getId(),
+                    product.getName(),
+                    product.hasDescription() ? product.getDescription() : null,
+                    product.getPrice(),
+                    product.getQuantity(),
+                    product.getUserId()));
+        }
+        return new ProductsResponse(
+                content, message.getTotalElements(), message.getTotalPages(), message.getSize(), message.getNumber());
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.lets_play.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.example.lets_play.dto.ProductImportError;
+import com.example.lets_play.dto.ProductImportProgress;
+import com.example.lets_play.service.ProductImporter;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Rows per second through the import pipeline of POST /api/products:import (parse, validate, map to BSON, batch),
+ * with the MongoDB insert replaced by a pause of {@code insertLatencyMicros} per batch to show the effect of
+ * overlapping in-flight batches. Input rows are generated on the fly, so the upload itself takes no heap.
+ * <p>
+ * The fork runs with a 64 MB heap: an import of {@value #ROWS} rows that buffered the body or its rows would not fit.
+ * Peak heap (sum of the heap pools' peaks, an upper bound) is printed at the end of each trial.
+ * <p>
+ * Run: {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbench="ProductImportBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(ProductImportBenchmark.ROWS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+@State(Scope.Benchmark)
+public class ProductImportBenchmark {
+
+    static final int ROWS = 200_000;
+
+    private static final ProductImporter.Listener IGNORE = new ProductImporter.Listener() {
+        @Override
+        public void onError(ProductImportError error) {}
+
+        @Override
+        public void onProgress(ProductImportProgress progress) {}
+    };
+
+    @Param({"NDJSON", "CSV"})
+    public ProductImporter.Format format;
+
+    /** Simulated insertMany round trip per batch; 0 measures the CPU-bound pipeline alone. */
+    @Param({"0", "5000"})
+    public int insertLatencyMicros;
+
+    private final String owner = new ObjectId().toHexString();
+    private ValidatorFactory validatorFactory;
+    private ExecutorService executor;
+    private ProductImporter importer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        executor = Executors.newFixedThreadPool(4);
+        long latencyNanos = TimeUnit.MICROSECONDS.toNanos(insertLatencyMicros);
+        importer = new ProductImporter(
+                validatorFactory.getValidator(),
+                JsonMapper.builder().build(),
+                converter,
+                documents -> {
+                    if (latencyNanos > 0) {
+                        LockSupport.parkNanos(latencyNanos);
+                    }
+                    return Map.of();
+                },
+                executor,
+                1000,
+                4);
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long peak = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+        System.out.printf("%nPeak heap (%s, %d µs/batch): %d MB%n", format, insertLatencyMicros, peak >> 20);
+        executor.shutdown();
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public ProductImportProgress importRows() throws IOException {
+        return importer.run(new GeneratedRows(format, ROWS), format, new ObjectId(), 0, owner, IGNORE);
+    }
+
+    /** Upload body produced one line at a time (header first for CSV). */
+    private static final class GeneratedRows extends InputStream {
+
+        private final ProductImporter.Format format;
+        private final int rows;
+        private int next;
+        private byte[] line = new byte[0];
+        private int position;
+
+        GeneratedRows(ProductImporter.Format format, int rows) {
+            this.format = format;
+            this.rows = rows;
+            this.next = format == ProductImporter.Format.CSV ? -1 : 0;
+        }
+
+        @Override
+        public int read() {
+            return fill() ? line[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean fill() {
+            if (position < line.length) {
+                return true;
+            }
+            if (next >= rows) {
+                return false;
+            }
+            line = render(next++).getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+
+        private String render(int i) {
+            if (i < 0) {
+                return "name,description,price,quantity\n";
+            }
+            String description = "A reasonably sized description, for product number " + i;
+            double price = 19.99 + i % 100;
+            int quantity = i % 500;
+            return format == ProductImporter.Format.CSV
+                    ? "Product " + i + ",\"" + description + "\"," + price + "," + quantity + "\n"
+                    : "{\"name\":\"Product " + i + "\",\"description\":\"" + description + "\",\"price\":" + price
+                            + ",\"quantity\":" + quantity + "}\n";
+        }
+    }
+}
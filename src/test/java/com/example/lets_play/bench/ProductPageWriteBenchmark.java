@@ -0,0 +1,114 @@
+package com.example.lets_play.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.lets_play.controller.ProductJsonWriter;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductsResponse;
+import com.example.lets_play.repository.ProductResponseCodec;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Cost of producing one GET /api/products page body from the raw BSON the server returns:
+ * <ul>
+ *   <li>{@code objectGraph}: decode every product into a list, wrap it in {@link ProductsResponse} and let Jackson
+ *       serialize the graph to the response stream (the former controller path)</li>
+ *   <li>{@code streamingWriter}: write each product with {@link ProductJsonWriter} as it is decoded, into the
+ *       per-request body buffer the controller needs for the ETag (the current path)</li>
+ * </ul>
+ * Both include decoding. Run with the GC profiler to compare bytes allocated per page
+ * ({@code gc.alloc.rate.norm}):
+ * {@code ./mvnw -Pbenchmarks test-compile exec:exec -Dbench="ProductPageWriteBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductPageWriteBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private final DocumentCodec documentCodec = new DocumentCodec();
+    private final ProductResponseCodec responseCodec = new ProductResponseCodec();
+    private final DecoderContext decoderContext = DecoderContext.builder().build();
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    /** Stands in for the servlet output stream, whose buffer the container owns and reuses. */
+    private final OutputStream responseStream = OutputStream.nullOutputStream();
+    private List<byte[]> page;
+
+    @Setup
+    public void setup() {
+        page = new ArrayList<>(pageSize);
+        ObjectId owner = new ObjectId();
+        for (int i = 0; i < pageSize; i++) {
+            Document product = new Document("_id", new ObjectId())
+                    .append("name", "Product " + i)
+                    .append("description", "A reasonably sized description for product number " + i)
+                    .append("price", 19.99 + i)
+                    .append("quantity", i * 3)
+                    .append("userId", owner.toHexString())
+                    .append("version", (long) i);
+            RawBsonDocument raw = new RawBsonDocument(product, documentCodec);
+            byte[] bytes = new byte[raw.getByteBuffer().remaining()];
+            raw.getByteBuffer().get(bytes);
+            page.add(bytes);
+        }
+    }
+
+    @Benchmark
+    public ProductsResponse objectGraph() {
+        List<ProductResponse> content = new ArrayList<>(page.size());
+        for (byte[] bytes : page) {
+            content.add(decode(bytes));
+        }
+        ProductsResponse response = new ProductsResponse(content, 1000, 1000 / pageSize, pageSize, 0);
+        objectMapper.writeValue(responseStream, response);
+        return response;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream streamingWriter() {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(8192);
+        try (JsonGenerator generator = objectMapper.createGenerator(body)) {
+            ProductJsonWriter.startPage(generator);
+            for (byte[] bytes : page) {
+                ProductJsonWriter.writeProduct(generator, decode(bytes));
+            }
+            ProductJsonWriter.endPage(generator, new ProductsResponse(null, 1000, 1000 / pageSize, pageSize, 0));
+        }
+        return body;
+    }
+
+    private ProductResponse decode(byte[] bytes) {
+        return responseCodec.decode(new BsonBinaryReader(ByteBuffer.wrap(bytes)), decoderContext);
+    }
+}
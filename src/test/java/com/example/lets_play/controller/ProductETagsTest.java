@@ -0,0 +1,101 @@
+package com.example.lets_play.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.lets_play.dto.ProductField;
+import com.example.lets_play.dto.ProductResponse;
+import com.example.lets_play.dto.ProductsResponse;
+
+class ProductETagsTest {
+
+    private static final Set<ProductField> NAME_AND_PRICE = EnumSet.of(ProductField.NAME, ProductField.PRICE);
+
+    @Test
+    void productTagNamesVersionFieldsAndFormat() {
+        ProductResponse product = product("65f000000000000000000001", 7);
+
+        assertEquals("\"7\"", ProductETags.of(product, MediaType.APPLICATION_JSON));
+        assertEquals("\"7.cbor\"", ProductETags.of(product, MediaType.APPLICATION_CBOR));
+        assertEquals("\"7.smile\"", ProductETags.of(product, ProductBodyWriter.SMILE));
+        assertEquals("\"7.protobuf\"", ProductETags.of(product, ProductProtobuf.MEDIA_TYPE));
+        assertEquals("\"7-c\"", ProductETags.of(product, NAME_AND_PRICE, MediaType.APPLICATION_JSON));
+        assertEquals("\"7-c.cbor\"", ProductETags.of(product, NAME_AND_PRICE, MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void ifMatchAbsentOrWildcardMatchesAnyVersion() {
+        assertNull(ProductETags.parseIfMatch(null));
+        assertNull(ProductETags.parseIfMatch(" "));
+        assertNull(ProductETags.parseIfMatch("*"));
+    }
+
+    @Test
+    void ifMatchIgnoresFieldMaskAndFormat() {
+        assertEquals(7L, ProductETags.parseIfMatch("\"7\""));
+        assertEquals(7L, ProductETags.parseIfMatch(" \"7-c\" "));
+        assertEquals(7L, ProductETags.parseIfMatch("\"7.protobuf\""));
+        assertEquals(7L, ProductETags.parseIfMatch("\"7-c.smile\""));
+    }
+
+    @Test
+    void ifMatchRejectsTagsThatCannotMatch() {
+        for (String tag : List.of("W/\"7\"", "7", "\"\"", "\"abc\"", "\"7\", \"8\"", "\"-c\"", "\"p1f\"")) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> ProductETags.parseIfMatch(tag), tag);
+            assertEquals(HttpStatus.PRECONDITION_FAILED, e.getStatusCode());
+        }
+    }
+
+    @Test
+    void pageTagMatchesWholePageTag() {
+        ProductsResponse page = page(product("65f000000000000000000001", 1), product("65f000000000000000000002", 4));
+
+        ProductETags.PageTag tag = new ProductETags.PageTag(ProductField.ALL, MediaType.APPLICATION_JSON);
+        page.getContent().forEach(tag::add);
+
+        assertEquals(ProductETags.of(page, MediaType.APPLICATION_JSON), tag.finish(page));
+    }
+
+    @Test
+    void pageTagChangesWithItemsFieldsFormatAndMetadata() {
+        ProductsResponse page = page(product("65f000000000000000000001", 1));
+        String tag = ProductETags.of(page, MediaType.APPLICATION_JSON);
+
+        assertNotEquals(tag, ProductETags.of(page(product("65f000000000000000000001", 2)), MediaType.APPLICATION_JSON));
+        assertNotEquals(tag, ProductETags.of(page, MediaType.APPLICATION_CBOR));
+        assertNotEquals(tag, pageTag(page, NAME_AND_PRICE, MediaType.APPLICATION_JSON));
+        assertNotEquals(pageTag(page, NAME_AND_PRICE, MediaType.APPLICATION_JSON),
+                pageTag(page, EnumSet.of(ProductField.NAME), MediaType.APPLICATION_JSON));
+        ProductsResponse nextPage = new ProductsResponse(page.getContent(), 1, "cursor");
+        assertNotEquals(ProductETags.of(new ProductsResponse(page.getContent(), 1, null), MediaType.APPLICATION_JSON),
+                ProductETags.of(nextPage, MediaType.APPLICATION_JSON));
+    }
+
+    private static String pageTag(ProductsResponse page, Set<ProductField> fields, MediaType format) {
+        ProductETags.PageTag tag = new ProductETags.PageTag(fields, format);
+        page.getContent().forEach(tag::add);
+        return tag.finish(page);
+    }
+
+    private static ProductsResponse page(ProductResponse... products) {
+        return new ProductsResponse(List.of(products), products.length, 1, 20, 0);
+    }
+
+    private static ProductResponse product(String id, long version) {
+        ProductResponse product = new ProductResponse(id, "Lamp", null, 19.99, 3, "65f0000000000000000000aa");
+        product.setVersion(version);
+        return product;
+    }
+}
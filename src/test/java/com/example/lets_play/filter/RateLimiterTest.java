@@ -0,0 +1,60 @@
+package com.example.lets_play.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    @Test
+    void admitsBurstThenAsksToWaitOneInterval() {
+        RateLimiter limiter = new RateLimiter(4, 100);
+        RateLimiter.Limit limit = new RateLimiter.Limit(60, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("client", limit));
+        }
+        long wait = limiter.tryAcquire("client", limit);
+        assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1), "wait " + wait);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        RateLimiter limiter = new RateLimiter(4, 100);
+        RateLimiter.Limit limit = new RateLimiter.Limit(60, 1);
+
+        assertEquals(0, limiter.tryAcquire("a", limit));
+        assertTrue(limiter.tryAcquire("a", limit) > 0);
+        assertEquals(0, limiter.tryAcquire("b", limit));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void newKeysShareTheOverflowBucketWhenFull() {
+        RateLimiter limiter = new RateLimiter(1, 1);
+        RateLimiter.Limit limit = new RateLimiter.Limit(60, 1);
+
+        assertEquals(0, limiter.tryAcquire("a", limit));
+        assertEquals(0, limiter.tryAcquire("b", limit));
+        assertTrue(limiter.tryAcquire("c", limit) > 0);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void evictIdleDropsOnlyFullBuckets() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(1, 100);
+        RateLimiter.Limit fast = new RateLimiter.Limit(TimeUnit.MINUTES.toMillis(1), 1);
+        RateLimiter.Limit slow = new RateLimiter.Limit(1, 1);
+
+        limiter.tryAcquire("idle", fast);
+        limiter.tryAcquire("busy", slow);
+        Thread.sleep(10);
+        limiter.evictIdle();
+
+        assertEquals(1, limiter.size());
+        assertTrue(limiter.tryAcquire("busy", slow) > 0);
+    }
+}
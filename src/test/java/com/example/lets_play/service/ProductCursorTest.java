@@ -0,0 +1,53 @@
+package com.example.lets_play.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class ProductCursorTest {
+
+    private final ProductService productService = new ProductService();
+
+    @Test
+    void cursorRoundTrips() {
+        String id = "65f0a1b2c3d4e5f601234567";
+        String cursor = ProductService.encodeCursor(id);
+
+        assertEquals(id, productService.decodeCursor(cursor));
+        assertEquals(id, productService.decodeCursor(" " + cursor + " "));
+    }
+
+    @Test
+    void cursorIsUrlSafeWithoutPadding() {
+        String cursor = ProductService.encodeCursor("ffffffffffffffffffffffff");
+
+        assertEquals(-1, cursor.indexOf('='));
+        assertEquals(-1, cursor.indexOf('+'));
+        assertEquals(-1, cursor.indexOf('/'));
+    }
+
+    @Test
+    void emptyCursorMeansFirstPage() {
+        assertNull(productService.decodeCursor(null));
+        assertNull(productService.decodeCursor(""));
+        assertNull(productService.decodeCursor("  "));
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        String notAnId = Base64.getUrlEncoder().encodeToString("not-an-object-id".getBytes(StandardCharsets.US_ASCII));
+        for (String cursor : List.of("!!!", notAnId, ProductService.encodeCursor("65f0a1b2c3d4e5f60123456"))) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> productService.decodeCursor(cursor), cursor);
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.lets_play.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.lets_play.dto.ProductField;
+
+class ProductFieldsTest {
+
+    private final ProductService productService = new ProductService();
+
+    @Test
+    void absentOrBlankSelectsEveryField() {
+        assertEquals(ProductField.ALL, productService.parseFields(null));
+        assertEquals(ProductField.ALL, productService.parseFields(" "));
+    }
+
+    @Test
+    void namesAreTrimmedAndBlankNamesIgnored() {
+        EnumSet<ProductField> nameAndPrice = EnumSet.of(ProductField.NAME, ProductField.PRICE);
+
+        assertEquals(nameAndPrice, productService.parseFields("price,name"));
+        assertEquals(nameAndPrice, productService.parseFields(" name , price "));
+        assertEquals(nameAndPrice, productService.parseFields(" ,name,,price,"));
+    }
+
+    @Test
+    void unknownOrNoNameIsBadRequest() {
+        for (String fields : List.of(",", " , ", "name,colour", "Name")) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                    () -> productService.parseFields(fields), fields);
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.lets_play.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.example.lets_play.dto.ProductImportError;
+import com.example.lets_play.dto.ProductImportProgress;
+
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+class ProductImporterTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static MappingMongoConverter converter;
+
+    @BeforeAll
+    static void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void splitCsvHandlesQuotesAndEmptyFields() {
+        assertEquals(List.of("a", "b", "c"), ProductImporter.splitCsv("a,b,c"));
+        assertEquals(List.of("", "", ""), ProductImporter.splitCsv(",,"));
+        assertEquals(List.of("Desk, oak", "1"), ProductImporter.splitCsv("\"Desk, oak\",1"));
+        assertEquals(List.of("12\" screen", ""), ProductImporter.splitCsv("\"12\"\" screen\","));
+        assertEquals(List.of(""), ProductImporter.splitCsv("\"\""));
+    }
+
+    @Test
+    void splitCsvRejectsUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> ProductImporter.splitCsv("\"Desk,1"));
+    }
+
+    @Test
+    void rowIdIsDeterministicAndOrdered() {
+        ObjectId importId = new ObjectId();
+
+        assertEquals(ProductImporter.rowId(importId, 5), ProductImporter.rowId(importId, 5));
+        assertTrue(ProductImporter.rowId(importId, 5).compareTo(ProductImporter.rowId(importId, 6)) < 0);
+        assertEquals(importId.getTimestamp(), ProductImporter.rowId(importId, 5).getTimestamp());
+        assertNotEquals(ProductImporter.rowId(importId, 5), ProductImporter.rowId(new ObjectId(), 5));
+        assertThrows(IllegalArgumentException.class, () -> ProductImporter.rowId(importId, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> ProductImporter.rowId(importId, ProductImporter.MAX_LINE + 1));
+    }
+
+    @Test
+    void committedLineWaitsForEarlierBatches() throws Exception {
+        // The first batch is held until the second has reported its progress
+        CountDownLatch secondReported = new CountDownLatch(1);
+        ProductImporter importer = importer(documents -> {
+            if (documents.get(0).getString("name").equals("first")) {
+                await(secondReported);
+            }
+            return Map.of();
+        });
+        Events events = new Events() {
+            @Override
+            public void onProgress(ProductImportProgress event) {
+                super.onProgress(event);
+                secondReported.countDown();
+            }
+        };
+
+        ProductImportProgress done = importer.run(ndjson("first", "second"), ProductImporter.Format.NDJSON,
+                new ObjectId(), 0, "owner", events);
+
+        assertEquals(List.of(0L, 2L), events.committedLines());
+        assertEquals(2, done.getCommittedLine());
+        assertEquals(2, done.getInserted());
+    }
+
+    @Test
+    void resumeSkipsCommittedLinesAndReusesRowIds() throws IOException {
+        ObjectId importId = new ObjectId();
+        List<Document> stored = Collections.synchronizedList(new ArrayList<>());
+        ProductImporter importer = importer(documents -> {
+            stored.addAll(documents);
+            return Map.of();
+        });
+
+        ProductImportProgress done = importer.run(ndjson("first", "second"), ProductImporter.Format.NDJSON,
+                importId, 1, "owner", new Events());
+
+        assertEquals(1, done.getLinesRead());
+        assertEquals(2, done.getCommittedLine());
+        assertEquals(1, stored.size());
+        assertEquals("second", stored.get(0).getString("name"));
+        assertEquals(ProductImporter.rowId(importId, 2), stored.get(0).getObjectId("_id"));
+    }
+
+    @Test
+    void invalidAndRejectedRowsAreReportedByLine() throws IOException {
+        ProductImporter importer = importer(documents -> Map.of(0, "duplicate"));
+        Events events = new Events();
+        String body = "name,price,quantity\n\"Lamp\",abc,1\nDesk,10,2\n";
+
+        ProductImportProgress done = importer.run(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                ProductImporter.Format.CSV, new ObjectId(), 0, "owner", events);
+
+        assertEquals(List.of("1: price: must be a number", "2: duplicate"), events.errors);
+        assertEquals(2, done.getFailed());
+        assertEquals(0, done.getInserted());
+    }
+
+    private static ProductImporter importer(ProductImporter.BatchInserter inserter) {
+        return new ProductImporter(validatorFactory.getValidator(), JsonMapper.builder().build(), converter, inserter,
+                command -> new Thread(command).start(), 1, 2);
+    }
+
+    private static ByteArrayInputStream ndjson(String... names) {
+        StringBuilder body = new StringBuilder();
+        for (String name : names) {
+            body.append("{\"name\":\"").append(name).append("\",\"price\":1.5,\"quantity\":1}\n");
+        }
+        return new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Records events; the importer never calls it concurrently. */
+    private static class Events implements ProductImporter.Listener {
+        private final List<ProductImportProgress> progress = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void onError(ProductImportError error) {
+            errors.add(error.getLine() + ": " + error.getMessage());
+        }
+
+        @Override
+        public void onProgress(ProductImportProgress event) {
+            if (event.getEvent().equals("progress")) {
+                progress.add(event);
+            }
+        }
+
+        List<Long> committedLines() {
+            return progress.stream().map(ProductImportProgress::getCommittedLine).toList();
+        }
+    }
+}